@@ -0,0 +1,154 @@
+package blog.benchmarks;
+
+import blog.article.assemblers.ArticleModelAssembler;
+import blog.article.assemblers.ArticleSummaryModelAssembler;
+import blog.article.controllers.ArticleController;
+import blog.article.domain.ArticleEntity;
+import blog.article.domain.ArticleResponse;
+import blog.article.domain.ArticleVersion;
+import blog.article.services.ArticleService;
+import blog.tag.domain.TagEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GET /v1/articles read path, stage by stage: mapping entities to responses, adding links,
+ * assembling the collection in the controller and rendering it as HAL.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleReadPathBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int articles;
+
+    private List<ArticleEntity> entities;
+    private List<ArticleResponse> responses;
+    private ArticleModelAssembler assembler;
+    private ArticleController controller;
+    private CollectionModel<EntityModel<ArticleResponse>> collection;
+    private ObjectWriter halWriter;
+
+    @Setup
+    public void setUp() {
+
+        List<TagEntity> tags = List.of(new TagEntity(1L, "java"), new TagEntity(2L, "spring"));
+        entities = new ArrayList<>(articles);
+        for (long id = 1; id <= articles; id++) {
+            entities.add(ArticleEntity.builder()
+                    .id(id)
+                    .title("Article " + id)
+                    .content("Content of article " + id + ", long enough to look like a short post.")
+                    .tags(new LinkedHashSet<>(tags))
+                    .publishDate(LocalDate.of(2024, 1, 1).plusDays(id % 365))
+                    .version(id % 7)
+                    .build());
+        }
+        responses = entities.stream().map(ArticleResponse::new).toList();
+
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        halWriter = mapper.writer();
+
+        assembler = new ArticleModelAssembler();
+        controller = new ArticleController(stubService(responses), assembler, new ArticleSummaryModelAssembler(), mapper);
+
+        startRequest();
+        collection = controller.getAllArticles(null).getBody();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<ArticleResponse> responseFromEntity() {
+
+        List<ArticleResponse> mapped = new ArrayList<>(entities.size());
+        for (ArticleEntity entity : entities) {
+            mapped.add(new ArticleResponse(entity));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public List<EntityModel<ArticleResponse>> assemblerToModel() {
+
+        startRequest();
+        try {
+            List<EntityModel<ArticleResponse>> models = new ArrayList<>(responses.size());
+            for (ArticleResponse response : responses) {
+                models.add(assembler.toModel(response));
+            }
+            return models;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Benchmark
+    public Object controllerGetAllArticles() {
+
+        ServletRequestAttributes request = startRequest();
+        try {
+            return controller.getAllArticles(new ServletWebRequest(request.getRequest()));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Benchmark
+    public byte[] halSerialization() throws Exception {
+
+        return halWriter.writeValueAsBytes(collection);
+    }
+
+    // every benchmark iteration stands for a fresh HTTP request, so nothing is reused across requests
+    private static ServletRequestAttributes startRequest() {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/articles");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+        return attributes;
+    }
+
+    private static ArticleService stubService(List<ArticleResponse> responses) {
+
+        List<ArticleVersion> versions = responses.stream().map(ArticleVersion::new).toList();
+        return (ArticleService) Proxy.newProxyInstance(
+                ArticleService.class.getClassLoader(),
+                new Class<?>[]{ArticleService.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getAllArticles" -> responses;
+                    case "getArticleVersions" -> versions;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
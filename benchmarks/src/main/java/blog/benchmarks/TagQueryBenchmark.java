@@ -0,0 +1,67 @@
+package blog.benchmarks;
+
+import blog.article.search.ArticleTagIndex;
+import blog.article.search.TagExpression;
+import org.openjdk.jmh.annotations.*;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating a boolean tag query over the in-memory bitmap index, the part of
+ * GET /v1/articles/tags?q= that runs before the page is loaded from the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TagQueryBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    private static final String[] TAGS = {"java", "spring", "jpa", "kotlin", "performance", "testing", "legacy"};
+
+    @Param({"10000", "1000000"})
+    private int articles;
+
+    @Param({"java AND spring", "(java OR kotlin) AND performance NOT legacy"})
+    private String query;
+
+    private ArticleTagIndex index;
+    private TagExpression expression;
+
+    @Setup
+    public void setUp() {
+
+        SplittableRandom random = new SplittableRandom(42);
+        index = new ArticleTagIndex();
+        for (long id = 1; id <= articles; id++) {
+            List<String> tags = new ArrayList<>(3);
+            for (String tag : TAGS) {
+                if (random.nextInt(3) == 0) {
+                    tags.add(tag);
+                }
+            }
+            index.index(id, FIRST_DAY.plusDays(id / 10), tags);
+        }
+        expression = TagExpression.parse(query);
+    }
+
+    @Benchmark
+    public Roaring64Bitmap evaluate() {
+
+        return index.query(expression);
+    }
+
+    @Benchmark
+    public TagExpression parse() {
+
+        return TagExpression.parse(query);
+    }
+}
@@ -0,0 +1,32 @@
+package blog;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// caching advice wraps the transactional advice, so evictions run after the write has committed
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String ARTICLES_CACHE = "articles";
+
+    public static final String ARTICLE_HTML_CACHE = "articleHtml";
+
+    static final long MAX_HTML_CHARACTERS = 32L * 1024 * 1024;
+
+    // rendered pages vary a lot in size, so this one is bounded by the characters it holds
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> articleHtmlCacheCustomizer() {
+
+        return cacheManager -> cacheManager.registerCustomCache(ARTICLE_HTML_CACHE, Caffeine.newBuilder()
+                .maximumWeight(MAX_HTML_CHARACTERS)
+                .weigher((Object hash, Object html) -> ((String) hash).length() + ((String) html).length())
+                .recordStats()
+                .build());
+    }
+}
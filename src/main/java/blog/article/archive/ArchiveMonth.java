@@ -0,0 +1,12 @@
+package blog.article.archive;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ArchiveMonth(
+        @Schema(description = "Publish year", example = "2024")
+        int year,
+        @Schema(description = "Publish month, 1 to 12", example = "1")
+        int month,
+        @Schema(description = "Number of articles published in the month", example = "12")
+        int articles
+) {}
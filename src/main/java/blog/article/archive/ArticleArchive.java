@@ -0,0 +1,81 @@
+package blog.article.archive;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Article counts per publish month, kept up to date on every save and delete so the archive
+ * never has to group the articles table.
+ * <p>
+ * The month of every article is remembered, because deletes and date changes only know the article id.
+ */
+@Component
+public class ArticleArchive {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, YearMonth> monthsByArticle = new HashMap<>();
+    private final NavigableMap<YearMonth, Integer> counts = new TreeMap<>(Comparator.reverseOrder());
+
+    public void put(long articleId, LocalDate publishDate) {
+
+        if (publishDate == null) {
+            remove(articleId);
+            return;
+        }
+        YearMonth month = YearMonth.from(publishDate);
+
+        lock.writeLock().lock();
+        try {
+            YearMonth previous = monthsByArticle.put(articleId, month);
+            if (!month.equals(previous)) {
+                decrement(previous);
+                counts.merge(month, 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+
+        lock.writeLock().lock();
+        try {
+            decrement(monthsByArticle.remove(articleId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // newest month first
+    public List<ArchiveMonth> months() {
+
+        lock.readLock().lock();
+        try {
+            List<ArchiveMonth> months = new ArrayList<>(counts.size());
+            counts.forEach((month, articles) ->
+                    months.add(new ArchiveMonth(month.getYear(), month.getMonthValue(), articles)));
+            return months;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void decrement(YearMonth month) {
+
+        if (month != null) {
+            counts.computeIfPresent(month, (key, articles) -> articles > 1 ? articles - 1 : null);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package blog.article.archive;
+
+import blog.article.events.ArticleDeletedEvent;
+import blog.article.events.ArticleSavedEvent;
+import blog.article.repositories.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@Slf4j
+public class ArticleArchiver implements SmartInitializingSingleton {
+
+    private final ArticleArchive archive;
+
+    private final ArticleRepository articleRepository;
+
+    public ArticleArchiver(ArticleArchive archive, ArticleRepository articleRepository) {
+        this.archive = archive;
+        this.articleRepository = articleRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        articleRepository.findAllPublishDates()
+                .forEach(article -> archive.put(article.id(), article.publishDate()));
+        log.info("Archived {} months of articles", archive.months().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleSaved(ArticleSavedEvent event) {
+
+        archive.put(event.article().id(), event.article().publishDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+
+        archive.remove(event.id());
+    }
+}
@@ -3,9 +3,11 @@ package blog.article.assemblers;
 import blog.article.controllers.ArticleController;
 import blog.article.domain.ArticleResponse;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
@@ -13,11 +15,30 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 @Component
 public class ArticleModelAssembler implements RepresentationModelAssembler<ArticleResponse, EntityModel<ArticleResponse>> {
 
+    private static final String ARTICLES_HREF = ArticleModelAssembler.class.getName() + ".ARTICLES_HREF";
+
     @Override
     public EntityModel<ArticleResponse> toModel(ArticleResponse article) {
 
+        String articles = articlesHref();
         return EntityModel.of(article,
-                WebMvcLinkBuilder.linkTo(methodOn(ArticleController.class).getArticle(article.id())).withSelfRel(),
-                linkTo(methodOn(ArticleController.class).getAllArticles()).withRel("articles"));
+                Link.of(articles + "/" + article.id()).withSelfRel(),
+                Link.of(articles).withRel("articles"));
+    }
+
+    // resolving the controller mapping against the request is the expensive part, so do it once per request
+    static String articlesHref() {
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return linkTo(ArticleController.class).toUri().toString();
+        }
+
+        String href = (String) request.getAttribute(ARTICLES_HREF, RequestAttributes.SCOPE_REQUEST);
+        if (href == null) {
+            href = linkTo(ArticleController.class).toUri().toString();
+            request.setAttribute(ARTICLES_HREF, href, RequestAttributes.SCOPE_REQUEST);
+        }
+        return href;
     }
 }
@@ -0,0 +1,21 @@
+package blog.article.assemblers;
+
+import blog.article.domain.ArticleSummary;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+
+
+@Component
+public class ArticleSummaryModelAssembler implements RepresentationModelAssembler<ArticleSummary, EntityModel<ArticleSummary>> {
+
+    @Override
+    public EntityModel<ArticleSummary> toModel(ArticleSummary article) {
+
+        String articles = ArticleModelAssembler.articlesHref();
+        return EntityModel.of(article,
+                Link.of(articles + "/" + article.id()).withSelfRel(),
+                Link.of(articles).withRel("articles"));
+    }
+}
@@ -1,11 +1,28 @@
 package blog.article.controllers;
 
+import blog.article.archive.ArchiveMonth;
 import blog.article.assemblers.ArticleModelAssembler;
+import blog.article.assemblers.ArticleSummaryModelAssembler;
 import blog.article.controllers.exceptions.ArticleNotFoundException;
+import blog.article.controllers.exceptions.InvalidBulkDeleteException;
+import blog.article.domain.ArticleBulkDeleteRequest;
+import blog.article.domain.ArticleBulkDeleteResult;
 import blog.article.domain.ArticleCreateRequest;
+import blog.article.domain.ArticleImportResult;
+import blog.article.domain.ArticlePage;
+import blog.article.domain.ArticlePatch;
 import blog.article.domain.ArticleResponse;
+import blog.article.domain.ArticleSummary;
 import blog.article.domain.ArticleUpdateRequest;
+import blog.article.domain.ArticleVersion;
+import blog.article.domain.ContentFormat;
+import blog.article.domain.MostViewedArticle;
 import blog.article.services.ArticleService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,13 +32,27 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.rmi.ServerError;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
@@ -31,13 +62,28 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 @RequestMapping("/v1/articles")
 public class ArticleController {
 
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    static final String MERGE_PATCH_VALUE = "application/merge-patch+json";
+
     private final ArticleService service;
 
     private final ArticleModelAssembler assembler;
 
-    public ArticleController(ArticleService service, ArticleModelAssembler assembler) {
+    private final ArticleSummaryModelAssembler summaryAssembler;
+
+    private final ObjectWriter exportWriter;
+
+    private final ObjectReader importReader;
+
+    public ArticleController(ArticleService service, ArticleModelAssembler assembler,
+                             ArticleSummaryModelAssembler summaryAssembler, ObjectMapper objectMapper) {
         this.service = service;
         this.assembler = assembler;
+        this.summaryAssembler = summaryAssembler;
+        this.exportWriter = objectMapper.writerFor(ArticleResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.importReader = objectMapper.readerFor(ArticleCreateRequest.class);
     }
 
     @CrossOrigin(origins = "*", allowedHeaders = "*")
@@ -64,6 +110,27 @@ public class ArticleController {
                 .body(savedArticle);
     }
 
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON_VALUE})
+    @Operation(
+            tags = "Article",
+            summary = "Import many articles",
+            description = "Register articles sent as a JSON array or as newline-delimited JSON. Every article is " +
+                    "reported on its own, so one bad article does not reject the rest"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the result of each article"),
+            @ApiResponse(responseCode = "500", description = "failed to import articles",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class)))
+    })
+    public ResponseEntity<List<ArticleImportResult>> importArticles(InputStream body) throws IOException {
+
+        try (MappingIterator<ArticleCreateRequest> articles = importReader.readValues(body)) {
+            return ResponseEntity.ok(service.importArticles(articles));
+        }
+    }
+
     @CrossOrigin(origins = "*", allowedHeaders = "*")
     @GetMapping
     @Operation(
@@ -73,17 +140,67 @@ public class ArticleController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "304", description = "Articles not modified since the given ETag"),
             @ApiResponse(responseCode = "500", description = "failed to get all articles",
             content = @Content(mediaType = "application/json",
             schema = @Schema(implementation = ServerError.class))),
     })
-    public CollectionModel<EntityModel<ArticleResponse>> getAllArticles() {
+    public ResponseEntity<CollectionModel<EntityModel<ArticleResponse>>> getAllArticles(WebRequest request) {
 
-        List<EntityModel<ArticleResponse>> articles = service.getAllArticles().stream()
-                .map(assembler::toModel)
-                .collect(Collectors.toList());
+        return conditionalCollection(request, service::getArticleVersions, service::getAllArticles);
+    }
 
-        return CollectionModel.of(articles, linkTo(methodOn(ArticleController.class).getAllArticles()).withSelfRel());
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping("/page")
+    @Operation(
+            tags = "Article",
+            summary = "Return a page of articles",
+            description = "Return articles newest first, one page at a time. Follow the next and prev links to move " +
+                    "between pages"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor"),
+            @ApiResponse(responseCode = "500", description = "failed to get articles page",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public CollectionModel<EntityModel<ArticleResponse>> getArticlesPage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+
+        return pageCollection(service.getArticlesPage(cursor, size), cursor, size,
+                () -> linkTo(ArticleController.class).slash("page").toUriComponentsBuilder());
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping(path = "/export", produces = NDJSON_VALUE)
+    @Operation(
+            tags = "Article",
+            summary = "Export all articles",
+            description = "Stream every registered article as newline-delimited JSON, one article per line"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "failed to export articles",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public ResponseEntity<StreamingResponseBody> exportArticles() {
+
+        StreamingResponseBody body = out -> service.exportArticles(article -> {
+            try {
+                exportWriter.writeValue(out, article);
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
     }
 
     @CrossOrigin(origins = "*", allowedHeaders = "*")
@@ -91,12 +208,13 @@ public class ArticleController {
     @Operation(
             tags = "Article",
             summary = "Return a specific article by ID",
-            description = "Return a specific registered article of blog"
+            description = "Return a specific registered article of blog, with format=html the content is rendered from markdown"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation",
             content = @Content(mediaType = "application/json",
             schema = @Schema(implementation = ArticleResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Article not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Article not found",
             content = @Content(mediaType = "application/json",
             schema = @Schema(implementation = ArticleNotFoundException.class))),
@@ -104,10 +222,30 @@ public class ArticleController {
             content = @Content(mediaType = "application/json",
             schema = @Schema(implementation = ServerError.class))),
     })
-    public EntityModel<ArticleResponse> getArticle(@PathVariable Long id) {
+    public ResponseEntity<EntityModel<ArticleResponse>> getArticle(
+            @PathVariable Long id,
+            @RequestParam(name = "format", defaultValue = "markdown") ContentFormat format,
+            WebRequest request
+    ) {
+
+        // only pay for the version lookup when the client can actually revalidate
+        if (request != null && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = ArticleVersion.etag(service.getArticleVersion(id));
+            if (request.checkNotModified(etag)) {
+                service.recordView(id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
 
+        // counted here because cache hits never reach the service method
         ArticleResponse foundArticle = service.getArticleById(id);
-        return assembler.toModel(foundArticle);
+        service.recordView(id);
+        if (format == ContentFormat.HTML) {
+            foundArticle = service.renderHtml(foundArticle);
+        }
+        return ResponseEntity.ok()
+                .eTag(ArticleVersion.etag(foundArticle.version()))
+                .body(assembler.toModel(foundArticle));
     }
 
     @CrossOrigin(origins = "*", allowedHeaders = "*")
@@ -119,15 +257,44 @@ public class ArticleController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "404", description = "Article not found"),
+            @ApiResponse(responseCode = "412", description = "Article changed since the ETag given in If-Match"),
+            @ApiResponse(responseCode = "500", description = "failed to update article",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public ResponseEntity<?> updateArticle(@PathVariable Long id, @RequestBody ArticleUpdateRequest article,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        ArticleResponse updatedArticle = service.updateArticle(id, article, expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ArticleVersion.etag(updatedArticle.version()))
+                .body(assembler.toModel(updatedArticle));
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @PatchMapping(path = "/{id}", consumes = {MERGE_PATCH_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(
+            tags = "Article",
+            summary = "Partially update article by ID",
+            description = "Apply a JSON merge patch to a registered article. Only the given fields change, null " +
+                    "clears a field, and the publish date is kept"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "404", description = "Article not found"),
+            @ApiResponse(responseCode = "412", description = "Article changed since the ETag given in If-Match"),
             @ApiResponse(responseCode = "500", description = "failed to update article",
             content = @Content(mediaType = "application/json",
             schema = @Schema(implementation = ServerError.class))),
     })
-    public ResponseEntity<?> updateArticle(@PathVariable Long id, @RequestBody ArticleUpdateRequest article) {
+    public ResponseEntity<?> patchArticle(@PathVariable Long id, @RequestBody ArticlePatch patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        ArticleResponse updatedArticle = service.updateArticle(id, article);
-        EntityModel<ArticleResponse> articleDTOEntityModel = assembler.toModel(updatedArticle);
-        return ResponseEntity.ok(articleDTOEntityModel);
+        ArticleResponse patchedArticle = service.patchArticle(id, patch, expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ArticleVersion.etag(patchedArticle.version()))
+                .body(assembler.toModel(patchedArticle));
     }
 
     @CrossOrigin(origins = "*", allowedHeaders = "*")
@@ -139,14 +306,48 @@ public class ArticleController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "no content"),
-            @ApiResponse(responseCode = "404", description = "Article not found")
+            @ApiResponse(responseCode = "404", description = "Article not found"),
+            @ApiResponse(responseCode = "412", description = "Article changed since the ETag given in If-Match")
     })
-    public ResponseEntity<?> deleteArticle(@PathVariable final Long id) {
+    public ResponseEntity<?> deleteArticle(@PathVariable final Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        service.deleteArticle(id);
+        service.deleteArticle(id, expectedVersion(ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @PostMapping("/bulk/delete")
+    @Operation(
+            tags = "Article",
+            summary = "Delete many articles",
+            description = "Delete the articles with the given IDs, or every article published between two dates. " +
+                    "Large selections are deleted in chunks, each committed on its own"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Neither IDs nor a valid date range given"),
+            @ApiResponse(responseCode = "500", description = "failed to delete articles",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class)))
+    })
+    public ResponseEntity<ArticleBulkDeleteResult> deleteArticles(@RequestBody ArticleBulkDeleteRequest request) {
+
+        boolean byIds = request.ids() != null && !request.ids().isEmpty();
+        boolean byDates = request.from() != null || request.to() != null;
+        if (byIds == byDates) {
+            throw new InvalidBulkDeleteException("Give either ids or a from and to publish date");
+        }
+        if (byIds) {
+            return ResponseEntity.ok(new ArticleBulkDeleteResult(service.deleteArticles(request.ids())));
+        }
+        if (request.from() == null || request.to() == null || request.from().isAfter(request.to())) {
+            throw new InvalidBulkDeleteException("Invalid publish date range " + request.from() + " to " + request.to());
+        }
+        return ResponseEntity.ok(new ArticleBulkDeleteResult(
+                service.deleteArticlesPublishedBetween(request.from(), request.to())));
+    }
+
     @CrossOrigin(origins = "*", allowedHeaders = "*")
     @GetMapping("/filter")
     @Operation(
@@ -156,19 +357,113 @@ public class ArticleController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "304", description = "Articles not modified since the given ETag"),
             @ApiResponse(responseCode = "500", description = "failed to get articles by publish date",
             content = @Content(mediaType = "application/json",
             schema = @Schema(implementation = ServerError.class))),
     })
-    public CollectionModel<EntityModel<ArticleResponse>> getArticlesByPublishDate(
-            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishDate
+    public ResponseEntity<CollectionModel<EntityModel<ArticleResponse>>> getArticlesByPublishDate(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishDate,
+            WebRequest request
     ) {
 
-        List<EntityModel<ArticleResponse>> articles = service.getArticlesByDate(publishDate).stream()
-                .map(assembler::toModel)
-                .collect(Collectors.toList());
+        return conditionalCollection(request,
+                () -> service.getArticleVersionsByDate(publishDate),
+                () -> service.getArticlesByDate(publishDate));
+    }
 
-        return CollectionModel.of(articles, linkTo(methodOn(ArticleController.class).getAllArticles()).withSelfRel());
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping(path = "/filter", params = {"from", "to"})
+    @Operation(
+            tags = "Article",
+            summary = "Return a page of articles published in a date range",
+            description = "Return articles published between two dates, both inclusive, newest first and one page " +
+                    "at a time. Follow the next and prev links to move between pages"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor"),
+            @ApiResponse(responseCode = "500", description = "failed to get articles by publish date",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public CollectionModel<EntityModel<ArticleResponse>> getArticlesByPublishDateRange(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+
+        return pageCollection(service.getArticlesPageByDateRange(from, to, cursor, size), cursor, size,
+                () -> linkTo(ArticleController.class).slash("filter").toUriComponentsBuilder()
+                        .queryParam("from", from)
+                        .queryParam("to", to));
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping("/archive")
+    @Operation(
+            tags = "Article",
+            summary = "Return the article archive",
+            description = "Return how many articles were published in each month, newest month first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "failed to get the archive",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public ResponseEntity<List<ArchiveMonth>> getArchive() {
+
+        return ResponseEntity.ok(service.getArchive());
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping("/most-viewed")
+    @Operation(
+            tags = "Article",
+            summary = "Return the most viewed articles",
+            description = "Return the articles with the most views, most viewed first. Views are counted in " +
+                    "memory and written every few seconds, so the latest ones may not be included yet"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "failed to get the most viewed articles",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public ResponseEntity<List<MostViewedArticle>> getMostViewedArticles(
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+
+        return ResponseEntity.ok(service.getMostViewed(limit));
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping(path = "/tags", params = "q")
+    @Operation(
+            tags = "Article",
+            summary = "Return a page of articles matching a tag query",
+            description = "Return articles whose tags match a boolean query such as " +
+                    "'java AND (spring OR jpa) NOT legacy', newest publish date first and one page at a time. " +
+                    "Tag names with spaces are quoted, adjacent terms are joined with AND"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Invalid tag query or page cursor"),
+            @ApiResponse(responseCode = "500", description = "failed to get articles by tag query",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public CollectionModel<EntityModel<ArticleResponse>> getArticlesByTagQuery(
+            @RequestParam("q") String query,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+
+        return pageCollection(service.getArticlesByTagQuery(query, cursor, size), cursor, size,
+                () -> linkTo(ArticleController.class).slash("tags").toUriComponentsBuilder()
+                        .queryParam("q", encode(query)));
     }
 
     @CrossOrigin(origins = "*", allowedHeaders = "*")
@@ -180,16 +475,181 @@ public class ArticleController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "304", description = "Articles not modified since the given ETag"),
             @ApiResponse(responseCode = "500", description = "failed to get articles by publish date",
             content = @Content(mediaType = "application/json",
             schema = @Schema(implementation = ServerError.class))),
     })
-    public CollectionModel<EntityModel<ArticleResponse>> getArticlesByTagName(@PathVariable String tagName) {
+    public ResponseEntity<CollectionModel<EntityModel<ArticleResponse>>> getArticlesByTagName(
+            @PathVariable String tagName,
+            WebRequest request
+    ) {
+
+        return conditionalCollection(request,
+                () -> service.getArticleVersionsByTagName(tagName),
+                () -> service.getArticlesByTagName(tagName));
+    }
 
-        List<EntityModel<ArticleResponse>> articles = service.getArticlesByTagName(tagName).stream()
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping("/summaries")
+    @Operation(
+            tags = "Article",
+            summary = "Return summaries of all registered articles",
+            description = "Return id, title, tags and publish date of every article, newest first, without the " +
+                    "content. Set excerpt to also return the first characters of the content"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "failed to get article summaries",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public CollectionModel<EntityModel<ArticleSummary>> getArticleSummaries(
+            @RequestParam(name = "excerpt", defaultValue = "0") int excerpt
+    ) {
+
+        return summaryCollection(service.getArticleSummaries(excerpt));
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping("/summaries/filter")
+    @Operation(
+            tags = "Article",
+            summary = "Return article summaries by publish date",
+            description = "Return summaries of the articles published on the given date, without the content"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "failed to get article summaries by publish date",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public CollectionModel<EntityModel<ArticleSummary>> getArticleSummariesByPublishDate(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishDate,
+            @RequestParam(name = "excerpt", defaultValue = "0") int excerpt
+    ) {
+
+        return summaryCollection(service.getArticleSummariesByDate(publishDate, excerpt));
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping("/summaries/tags/{tagName}")
+    @Operation(
+            tags = "Article",
+            summary = "Return article summaries by tag name",
+            description = "Return summaries of the articles with the given tag, without the content"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "failed to get article summaries by tag name",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public CollectionModel<EntityModel<ArticleSummary>> getArticleSummariesByTagName(
+            @PathVariable String tagName,
+            @RequestParam(name = "excerpt", defaultValue = "0") int excerpt
+    ) {
+
+        return summaryCollection(service.getArticleSummariesByTagName(tagName, excerpt));
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping("/search")
+    @Operation(
+            tags = "Article",
+            summary = "Search articles",
+            description = "Full-text search over article titles and contents, best matches first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "failed to search articles",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public CollectionModel<EntityModel<ArticleResponse>> searchArticles(
+            @RequestParam("q") String query,
+            @RequestParam(name = "limit", defaultValue = "20") int limit
+    ) {
+
+        List<EntityModel<ArticleResponse>> articles = service.searchArticles(query, limit).stream()
+                .map(assembler::toModel)
+                .collect(Collectors.toList());
+
+        return CollectionModel.of(articles, linkTo(methodOn(ArticleController.class).searchArticles(query, limit)).withSelfRel());
+    }
+
+    private ResponseEntity<CollectionModel<EntityModel<ArticleResponse>>> conditionalCollection(
+            WebRequest request,
+            Supplier<List<ArticleVersion>> versions,
+            Supplier<List<ArticleResponse>> articles
+    ) {
+
+        // revalidate against (id, version) pairs only, without reading the article bodies
+        if (request != null && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = ArticleVersion.etag(versions.get());
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
+        List<ArticleResponse> found = articles.get();
+        List<EntityModel<ArticleResponse>> models = found.stream()
                 .map(assembler::toModel)
                 .collect(Collectors.toList());
 
-        return CollectionModel.of(articles, linkTo(methodOn(ArticleController.class).getAllArticles()).withSelfRel());
+        return ResponseEntity.ok()
+                .eTag(ArticleVersion.etag(found.stream().map(ArticleVersion::new).toList()))
+                .body(CollectionModel.of(models, linkTo(ArticleController.class).withSelfRel()));
+    }
+
+    private CollectionModel<EntityModel<ArticleSummary>> summaryCollection(List<ArticleSummary> summaries) {
+
+        List<EntityModel<ArticleSummary>> models = summaries.stream()
+                .map(summaryAssembler::toModel)
+                .collect(Collectors.toList());
+
+        return CollectionModel.of(models, linkTo(ArticleController.class).slash("summaries").withSelfRel());
+    }
+
+    private CollectionModel<EntityModel<ArticleResponse>> pageCollection(ArticlePage page, String cursor, int size,
+                                                                         Supplier<UriComponentsBuilder> base) {
+
+        List<EntityModel<ArticleResponse>> articles = page.articles().stream()
+                .map(assembler::toModel)
+                .collect(Collectors.toList());
+
+        CollectionModel<EntityModel<ArticleResponse>> model =
+                CollectionModel.of(articles, pageLink(base, cursor, size, IanaLinkRelations.SELF));
+        if (page.nextCursor() != null) {
+            model.add(pageLink(base, page.nextCursor(), size, IanaLinkRelations.NEXT));
+        }
+        if (page.previousCursor() != null) {
+            model.add(pageLink(base, page.previousCursor(), size, IanaLinkRelations.PREV));
+        }
+        return model;
+    }
+
+    // values are encoded strictly before building, a literal '+' would be read back as a space
+    private static Link pageLink(Supplier<UriComponentsBuilder> base, String cursor, int size, LinkRelation relation) {
+
+        String href = base.get()
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor).map(ArticleController::encode))
+                .queryParam("size", size)
+                .build(true)
+                .toUriString();
+        return Link.of(href, relation);
+    }
+
+    private static String encode(String value) {
+        return UriUtils.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // "*" matches any current version, so it only asks for the article to exist
+    private static Long expectedVersion(String ifMatch) {
+
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        return ArticleVersion.fromEtag(ifMatch);
     }
 }
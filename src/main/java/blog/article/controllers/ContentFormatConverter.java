@@ -0,0 +1,17 @@
+package blog.article.controllers;
+
+import blog.article.domain.ContentFormat;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+// lets clients write format=html, enum request parameters are otherwise matched case-sensitively
+@Component
+public class ContentFormatConverter implements Converter<String, ContentFormat> {
+
+    @Override
+    public ContentFormat convert(String source) {
+        return ContentFormat.valueOf(source.trim().toUpperCase(Locale.ROOT));
+    }
+}
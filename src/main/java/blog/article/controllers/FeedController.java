@@ -0,0 +1,87 @@
+package blog.article.controllers;
+
+import blog.article.feed.ArticleFeed;
+import blog.article.feed.FeedFormat;
+import blog.article.feed.RenderedFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.rmi.ServerError;
+
+@RestController
+@RequestMapping("/v1")
+public class FeedController {
+
+    private final ArticleFeed feed;
+
+    public FeedController(ArticleFeed feed) {
+        this.feed = feed;
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping(path = "/feed.atom", produces = MediaType.APPLICATION_ATOM_XML_VALUE)
+    @Operation(
+            tags = "Feed",
+            summary = "Return the Atom feed",
+            description = "Return the newest articles as an Atom feed. Send the ETag or Last-Modified of the " +
+                    "previous poll back to get 304 while the feed is unchanged"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "304", description = "Feed not modified since the given ETag or date"),
+            @ApiResponse(responseCode = "500", description = "failed to get the feed",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public ResponseEntity<byte[]> getAtomFeed(WebRequest request) {
+
+        return feedResponse(FeedFormat.ATOM, request);
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping(path = "/feed.rss", produces = MediaType.APPLICATION_RSS_XML_VALUE)
+    @Operation(
+            tags = "Feed",
+            summary = "Return the RSS feed",
+            description = "Return the newest articles as an RSS 2.0 feed. Send the ETag or Last-Modified of the " +
+                    "previous poll back to get 304 while the feed is unchanged"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "304", description = "Feed not modified since the given ETag or date"),
+            @ApiResponse(responseCode = "500", description = "failed to get the feed",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public ResponseEntity<byte[]> getRssFeed(WebRequest request) {
+
+        return feedResponse(FeedFormat.RSS, request);
+    }
+
+    private ResponseEntity<byte[]> feedResponse(FeedFormat format, WebRequest request) {
+
+        RenderedFeed rendered = feed.render(format);
+        if (request.checkNotModified(rendered.etag(), rendered.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(rendered.etag())
+                    .lastModified(rendered.lastModified())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .eTag(rendered.etag())
+                .lastModified(rendered.lastModified())
+                .body(rendered.body());
+    }
+}
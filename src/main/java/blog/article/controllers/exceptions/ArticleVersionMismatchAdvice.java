@@ -0,0 +1,17 @@
+package blog.article.controllers.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ArticleVersionMismatchAdvice {
+
+    @ExceptionHandler(ArticleVersionMismatchException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    String articleVersionMismatchHandler(ArticleVersionMismatchException ex) {
+
+        return ex.getMessage();
+    }
+}
@@ -0,0 +1,8 @@
+package blog.article.controllers.exceptions;
+
+public class ArticleVersionMismatchException extends RuntimeException {
+
+    public ArticleVersionMismatchException(Long id) {
+        super("Article " + id + " was modified since the given version");
+    }
+}
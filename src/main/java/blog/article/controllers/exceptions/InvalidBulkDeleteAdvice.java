@@ -0,0 +1,17 @@
+package blog.article.controllers.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class InvalidBulkDeleteAdvice {
+
+    @ExceptionHandler(InvalidBulkDeleteException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String invalidBulkDeleteHandler(InvalidBulkDeleteException ex) {
+
+        return ex.getMessage();
+    }
+}
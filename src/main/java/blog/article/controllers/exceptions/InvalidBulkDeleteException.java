@@ -0,0 +1,8 @@
+package blog.article.controllers.exceptions;
+
+public class InvalidBulkDeleteException extends RuntimeException {
+
+    public InvalidBulkDeleteException(String message) {
+        super(message);
+    }
+}
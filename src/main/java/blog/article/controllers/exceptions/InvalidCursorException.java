@@ -0,0 +1,8 @@
+package blog.article.controllers.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor " + cursor);
+    }
+}
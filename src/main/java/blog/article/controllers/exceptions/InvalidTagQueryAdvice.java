@@ -0,0 +1,17 @@
+package blog.article.controllers.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class InvalidTagQueryAdvice {
+
+    @ExceptionHandler(InvalidTagQueryException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String invalidTagQueryHandler(InvalidTagQueryException ex) {
+
+        return ex.getMessage();
+    }
+}
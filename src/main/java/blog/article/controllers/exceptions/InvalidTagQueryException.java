@@ -0,0 +1,8 @@
+package blog.article.controllers.exceptions;
+
+public class InvalidTagQueryException extends RuntimeException {
+
+    public InvalidTagQueryException(String query, String reason) {
+        super("Invalid tag query " + query + ": " + reason);
+    }
+}
@@ -0,0 +1,106 @@
+package blog.article.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The content of an article, kept apart from the article row so that only the queries serving
+ * whole articles read it.
+ * <p>
+ * Bodies of at least {@link #COMPRESSION_THRESHOLD} characters are stored deflated, smaller ones
+ * as plain text. Either way they are decoded on first access only.
+ */
+@Entity(name = "article_bodies")
+@Table(name = "article_bodies")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArticleBody {
+
+    static final int COMPRESSION_THRESHOLD = 4096;
+
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "article_id")
+    private ArticleEntity article;
+
+    @Column(name = "content")
+    private String plainContent;
+
+    @Column(name = "compressed_content")
+    private byte[] compressedContent;
+
+    @Transient
+    private String content;
+
+    @Transient
+    private boolean decoded;
+
+    ArticleBody(ArticleEntity article, String content) {
+        this.article = article;
+        setContent(content);
+    }
+
+    public String getContent() {
+
+        if (!decoded) {
+            content = compressedContent == null ? plainContent : inflate(compressedContent);
+            decoded = true;
+        }
+        return content;
+    }
+
+    public void setContent(String content) {
+
+        byte[] compressed = content != null && content.length() >= COMPRESSION_THRESHOLD ? deflate(content) : null;
+        // text that does not shrink is not worth inflating on every read
+        if (compressed != null && compressed.length < content.getBytes(StandardCharsets.UTF_8).length) {
+            this.plainContent = null;
+            this.compressedContent = compressed;
+        } else {
+            this.plainContent = content;
+            this.compressedContent = null;
+        }
+        this.content = content;
+        this.decoded = true;
+    }
+
+    boolean isCompressed() {
+        return compressedContent != null;
+    }
+
+    private static byte[] deflate(String content) {
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length() / 2);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String inflate(byte[] compressed) {
+
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package blog.article.domain;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ArticleBulkDeleteRequest(
+        @ArraySchema(schema = @Schema(description = "IDs of the articles to delete", example = "1"))
+        List<Long> ids,
+        @Schema(description = "First publish date to delete, inclusive", example = "2024-01-01")
+        LocalDate from,
+        @Schema(description = "Last publish date to delete, inclusive", example = "2024-01-31")
+        LocalDate to
+) {}
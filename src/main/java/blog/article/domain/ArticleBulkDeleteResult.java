@@ -0,0 +1,8 @@
+package blog.article.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ArticleBulkDeleteResult(
+        @Schema(description = "Number of articles deleted", example = "42")
+        int deleted
+) {}
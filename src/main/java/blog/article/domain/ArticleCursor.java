@@ -0,0 +1,50 @@
+package blog.article.domain;
+
+import blog.article.controllers.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record ArticleCursor(
+        Direction direction,
+        LocalDate publishDate,
+        Long id
+) {
+
+    public enum Direction { NEXT, PREVIOUS }
+
+    public static ArticleCursor next(ArticleEntity article) {
+        return new ArticleCursor(Direction.NEXT, article.getPublishDate(), article.getId());
+    }
+
+    public static ArticleCursor previous(ArticleEntity article) {
+        return new ArticleCursor(Direction.PREVIOUS, article.getPublishDate(), article.getId());
+    }
+
+    public String encode() {
+
+        String raw = direction.name().charAt(0) + ":" + publishDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ArticleCursor decode(String cursor) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new InvalidCursorException(cursor);
+            }
+            Direction direction = switch (parts[0]) {
+                case "N" -> Direction.NEXT;
+                case "P" -> Direction.PREVIOUS;
+                default -> throw new InvalidCursorException(cursor);
+            };
+            return new ArticleCursor(direction, LocalDate.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
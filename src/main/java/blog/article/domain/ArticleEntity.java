@@ -3,44 +3,115 @@ package blog.article.domain;
 import blog.tag.domain.TagEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
-@Builder
 
 @Entity(name = "articles")
 @Table(name = "articles")
+@DynamicUpdate
 public class ArticleEntity {
 
+    public static final int EXCERPT_LENGTH = 500;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articles_seq")
+    @SequenceGenerator(name = "articles_seq", sequenceName = "articles_seq", allocationSize = 50)
     private Long id;
 
     private String title;
 
-    private String content;
+    // the beginning of the content, so summaries never read the body
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
+    // only the queries serving whole articles fetch it, and the database deletes it with the article
+    @OneToOne(mappedBy = "article", fetch = FetchType.LAZY, cascade = CascadeType.ALL, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ArticleBody body;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-    private List<TagEntity> tags;
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "article_tags",
+            joinColumns = @JoinColumn(name = "article_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"))
+    @OrderBy("name")
+    private Set<TagEntity> tags;
 
     @Column(name = "publish_date")
     private LocalDate publishDate;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @Builder
+    public ArticleEntity(Long id, String title, String content, Set<TagEntity> tags, LocalDate publishDate,
+                         Long version) {
+        this.id = id;
+        this.title = title;
+        this.tags = tags;
+        this.publishDate = publishDate;
+        this.version = version;
+        setContent(content);
+    }
+
     public ArticleEntity(ArticleCreateRequest data) {
         this.title = data.title();
-        this.content = data.content();
-        this.tags = data.tags();
+        setContent(data.content());
+        this.tags = data.tags() == null ? new LinkedHashSet<>() : new LinkedHashSet<>(data.tags());
         this.publishDate = LocalDate.now();
     }
 
     public ArticleEntity(ArticleUpdateRequest data) {
         this.title = data.title();
-        this.content = data.content();
-        this.tags = data.tags();
+        setContent(data.content());
+        this.tags = data.tags() == null ? new LinkedHashSet<>() : new LinkedHashSet<>(data.tags());
         this.publishDate = LocalDate.now();
     }
+
+    public String getContent() {
+        return body == null ? null : body.getContent();
+    }
+
+    public void setContent(String content) {
+
+        excerpt = excerptOf(content);
+        if (body == null) {
+            body = new ArticleBody(this, content);
+        } else {
+            body.setContent(content);
+        }
+    }
+
+    public static String excerptOf(String content) {
+
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        // counted in code points like the SQL SUBSTRING, so a surrogate pair is never cut in half
+        return content.codePointCount(0, content.length()) <= EXCERPT_LENGTH
+                ? content
+                : content.substring(0, content.offsetByCodePoints(0, EXCERPT_LENGTH));
+    }
+
+    // edits the loaded collection in place, so Hibernate only writes the join rows that changed
+    public void replaceTags(Collection<TagEntity> replacement) {
+
+        Set<TagEntity> wanted = new LinkedHashSet<>(replacement);
+        if (tags == null) {
+            tags = wanted;
+            return;
+        }
+        tags.retainAll(wanted);
+        tags.addAll(wanted);
+    }
 }
@@ -0,0 +1,23 @@
+package blog.article.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArticleImportResult(
+        @Schema(description = "Position of the article in the request body", example = "0")
+        int index,
+        @Schema(description = "ID of the created article", example = "1")
+        Long id,
+        @Schema(description = "Why the article could not be imported", example = "value too long")
+        String error
+) {
+
+    public static ArticleImportResult created(int index, Long id) {
+        return new ArticleImportResult(index, id, null);
+    }
+
+    public static ArticleImportResult failed(int index, String error) {
+        return new ArticleImportResult(index, null, error);
+    }
+}
@@ -0,0 +1,9 @@
+package blog.article.domain;
+
+import java.util.List;
+
+public record ArticlePage(
+        List<ArticleResponse> articles,
+        String nextCursor,
+        String previousCursor
+) {}
@@ -0,0 +1,30 @@
+package blog.article.domain;
+
+import blog.tag.domain.TagCreateRequest;
+import blog.tag.domain.TagEntity;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Optional;
+
+// JSON merge patch (RFC 7386): a missing member never reaches its setter and stays null, which
+// leaves the field alone, while an explicit JSON null arrives as Optional.empty() and clears it.
+// A record would not work here, Jackson hands absent creator arguments in as Optional.empty().
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticlePatch {
+
+    @Schema(description = "New title of the article", example = "John")
+    private Optional<String> title;
+
+    @Schema(description = "New content of the article", example = "content")
+    private Optional<String> content;
+
+    @ArraySchema(schema = @Schema(description = "New tags of the article", implementation = TagCreateRequest.class))
+    private Optional<List<TagEntity>> tags;
+}
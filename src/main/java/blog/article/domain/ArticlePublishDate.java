@@ -0,0 +1,8 @@
+package blog.article.domain;
+
+import java.time.LocalDate;
+
+public record ArticlePublishDate(
+        Long id,
+        LocalDate publishDate
+) {}
@@ -2,6 +2,7 @@ package blog.article.domain;
 
 import blog.tag.domain.TagEntity;
 import blog.tag.domain.TagResponse;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -18,16 +19,27 @@ public record ArticleResponse(
         @ArraySchema(schema = @Schema(description = "Tags of the article", implementation = TagResponse.class))
         List<TagEntity> tags,
         @Schema(description = "Publish date of the article", example = "java.time.LocalDate.now()")
-        LocalDate publishDate
+        LocalDate publishDate,
+        @JsonIgnore
+        Long version
 ) {
 
+    public ArticleResponse(Long id, String title, String content, List<TagEntity> tags, LocalDate publishDate) {
+        this(id, title, content, tags, publishDate, null);
+    }
+
     public ArticleResponse(ArticleEntity articleEntity) {
         this(
                 articleEntity.getId(),
                 articleEntity.getTitle(),
                 articleEntity.getContent(),
-                articleEntity.getTags(),
-                articleEntity.getPublishDate()
+                articleEntity.getTags() == null ? null : List.copyOf(articleEntity.getTags()),
+                articleEntity.getPublishDate(),
+                articleEntity.getVersion()
         );
     }
+
+    public ArticleResponse withContent(String content) {
+        return new ArticleResponse(id, title, content, tags, publishDate, version);
+    }
 }
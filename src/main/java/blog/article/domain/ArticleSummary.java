@@ -0,0 +1,35 @@
+package blog.article.domain;
+
+import blog.tag.domain.TagEntity;
+import blog.tag.domain.TagResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ArticleSummary(
+        @Schema(description = "ID of the article", example = "1")
+        Long id,
+        @Schema(description = "Title of the article", example = "John")
+        String title,
+        @ArraySchema(schema = @Schema(description = "Tags of the article", implementation = TagResponse.class))
+        List<TagEntity> tags,
+        @Schema(description = "Publish date of the article", example = "java.time.LocalDate.now()")
+        LocalDate publishDate,
+        @Schema(description = "Beginning of the article content, only when an excerpt was requested",
+                example = "content")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String excerpt
+) {
+
+    // used by the repository projection, tags are loaded by a second query
+    public ArticleSummary(Long id, String title, LocalDate publishDate, String excerpt) {
+        this(id, title, List.of(), publishDate, excerpt);
+    }
+
+    public ArticleSummary withTags(List<TagEntity> tags) {
+        return new ArticleSummary(id, title, tags, publishDate, excerpt);
+    }
+}
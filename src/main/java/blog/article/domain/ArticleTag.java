@@ -0,0 +1,8 @@
+package blog.article.domain;
+
+public record ArticleTag(
+        Long articleId,
+        Long tagId,
+        String tagName
+) {
+}
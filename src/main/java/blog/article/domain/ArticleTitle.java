@@ -0,0 +1,6 @@
+package blog.article.domain;
+
+public record ArticleTitle(
+        Long id,
+        String title
+) {}
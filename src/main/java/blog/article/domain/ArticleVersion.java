@@ -0,0 +1,49 @@
+package blog.article.domain;
+
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public record ArticleVersion(
+        Long id,
+        Long version
+) {
+
+    // versions start at zero, so this never matches a stored one
+    public static final Long NO_VERSION = -1L;
+
+    private static final Pattern STRONG_ETAG = Pattern.compile("\\s*\"(\\d{1,18})\"\\s*");
+
+    public ArticleVersion(ArticleResponse article) {
+        this(article.id(), article.version());
+    }
+
+    public static String etag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match uses the strong comparison, so weak or foreign tags never match any version
+    public static Long fromEtag(String etag) {
+
+        Matcher matcher = STRONG_ETAG.matcher(etag);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : NO_VERSION;
+    }
+
+    // order-independent, so it matches whatever order the listing query returned
+    public static String etag(Collection<ArticleVersion> versions) {
+
+        long hash = 0;
+        for (ArticleVersion version : versions) {
+            hash += mix(mix(version.id()) ^ (version.version() == null ? 0 : version.version()));
+        }
+        return "\"" + Long.toHexString(hash) + "-" + Integer.toHexString(versions.size()) + "\"";
+    }
+
+    private static long mix(long value) {
+
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,8 @@
+package blog.article.domain;
+
+public enum ContentFormat {
+
+    // the content as written
+    MARKDOWN,
+    HTML
+}
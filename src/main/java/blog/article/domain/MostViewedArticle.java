@@ -0,0 +1,12 @@
+package blog.article.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record MostViewedArticle(
+        @Schema(description = "ID of the article", example = "1")
+        Long id,
+        @Schema(description = "Title of the article", example = "John")
+        String title,
+        @Schema(description = "Views counted up to the last flush", example = "42")
+        long views
+) {}
@@ -0,0 +1,5 @@
+package blog.article.events;
+
+public record ArticleDeletedEvent(
+        Long id
+) {}
@@ -0,0 +1,7 @@
+package blog.article.events;
+
+import blog.article.domain.ArticleResponse;
+
+public record ArticleSavedEvent(
+        ArticleResponse article
+) {}
@@ -0,0 +1,192 @@
+package blog.article.feed;
+
+import blog.article.domain.ArticleResponse;
+import blog.article.repositories.ArticleRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * The newest articles as pre-rendered feed documents, so a poll is a copy of a shared buffer.
+ * <p>
+ * Saves and deletes outside the window leave the documents alone. Changes inside it drop them and
+ * they are rendered again on the next poll. When the window loses an article it cannot tell which
+ * one moves up, so it is loaded again, which also happens on the first poll.
+ */
+@Component
+public class ArticleFeed {
+
+    private static final Comparator<ArticleResponse> NEWEST_FIRST = Comparator
+            .comparing(ArticleResponse::publishDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ArticleResponse::id, Comparator.reverseOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ArticleRepository articleRepository;
+
+    private final FeedWriter writer;
+
+    private final int size;
+
+    private final Map<FeedFormat, RenderedFeed> rendered = new EnumMap<>(FeedFormat.class);
+    private List<ArticleResponse> window = new ArrayList<>();
+    // false until loaded, and again once the window may be missing an article
+    private boolean complete;
+    private long changes;
+    private Instant lastModified = now();
+
+    public ArticleFeed(ArticleRepository articleRepository, ArticleFeedProperties properties) {
+        this.articleRepository = articleRepository;
+        this.writer = new FeedWriter(properties);
+        this.size = Math.max(properties.size(), 1);
+    }
+
+    public void put(ArticleResponse article) {
+
+        lock.writeLock().lock();
+        try {
+            changes++;
+            if (!complete) {
+                return;
+            }
+            boolean full = window.size() >= size;
+            int index = indexOf(article.id());
+            if (index < 0 && full && NEWEST_FIRST.compare(article, window.get(window.size() - 1)) > 0) {
+                return;
+            }
+
+            if (index >= 0) {
+                window.remove(index);
+                // moved behind the window, so an article the window does not know may take its place
+                if (full && !window.isEmpty() && NEWEST_FIRST.compare(article, window.get(window.size() - 1)) > 0) {
+                    complete = false;
+                    changed();
+                    return;
+                }
+            }
+            window.add(insertionPoint(article), article);
+            if (window.size() > size) {
+                window.remove(window.size() - 1);
+            }
+            changed();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+
+        lock.writeLock().lock();
+        try {
+            changes++;
+            int index = complete ? indexOf(articleId) : -1;
+            if (index >= 0) {
+                complete = window.size() < size;
+                window.remove(index);
+                changed();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public RenderedFeed render(FeedFormat format) {
+
+        lock.readLock().lock();
+        try {
+            RenderedFeed feed = complete ? rendered.get(format) : null;
+            if (feed != null) {
+                return feed;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        reloadIfIncomplete();
+
+        lock.writeLock().lock();
+        try {
+            return rendered.computeIfAbsent(format, key -> {
+                byte[] body = writer.write(key, window, lastModified);
+                CRC32C checksum = new CRC32C();
+                checksum.update(body);
+                return new RenderedFeed(body, "\"" + Long.toHexString(checksum.getValue()) + "\"", lastModified);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // loads outside the lock, so saves and deletes committing meanwhile are not held up by the query
+    private void reloadIfIncomplete() {
+
+        long seen;
+        lock.readLock().lock();
+        try {
+            if (complete) {
+                return;
+            }
+            seen = changes;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = articleRepository.findNewestIds(PageRequest.ofSize(size));
+        List<ArticleResponse> latest = ids.isEmpty() ? List.of() : articleRepository.findAllById(ids).stream()
+                .map(ArticleResponse::new)
+                .sorted(NEWEST_FIRST)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            if (!complete) {
+                window = new ArrayList<>(latest);
+                // a change that raced with the query may be missing, the next poll loads again
+                complete = changes == seen;
+                changed();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int indexOf(long articleId) {
+
+        for (int i = 0; i < window.size(); i++) {
+            if (window.get(i).id() == articleId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int insertionPoint(ArticleResponse article) {
+
+        int i = 0;
+        while (i < window.size() && NEWEST_FIRST.compare(window.get(i), article) < 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private void changed() {
+
+        rendered.clear();
+        lastModified = now();
+    }
+
+    // HTTP dates have no fractions of a second
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
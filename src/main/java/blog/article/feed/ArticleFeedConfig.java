@@ -0,0 +1,9 @@
+package blog.article.feed;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ArticleFeedProperties.class)
+public class ArticleFeedConfig {
+}
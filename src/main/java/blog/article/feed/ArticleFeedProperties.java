@@ -0,0 +1,14 @@
+package blog.article.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("blog.feed")
+public record ArticleFeedProperties(
+        // newest articles listed in the feeds
+        @DefaultValue("20") int size,
+        // feeds are rendered once for every reader, so links cannot come from the request
+        @DefaultValue("http://localhost:8080") String baseUrl,
+        @DefaultValue("Personal Blogging Platform") String title
+) {
+}
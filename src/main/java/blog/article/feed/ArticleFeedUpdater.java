@@ -0,0 +1,28 @@
+package blog.article.feed;
+
+import blog.article.events.ArticleDeletedEvent;
+import blog.article.events.ArticleSavedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class ArticleFeedUpdater {
+
+    private final ArticleFeed feed;
+
+    public ArticleFeedUpdater(ArticleFeed feed) {
+        this.feed = feed;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleSaved(ArticleSavedEvent event) {
+
+        feed.put(event.article());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+
+        feed.remove(event.id());
+    }
+}
@@ -0,0 +1,19 @@
+package blog.article.feed;
+
+import org.springframework.http.MediaType;
+
+public enum FeedFormat {
+
+    ATOM(MediaType.APPLICATION_ATOM_XML),
+    RSS(MediaType.APPLICATION_RSS_XML);
+
+    private final MediaType mediaType;
+
+    FeedFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,168 @@
+package blog.article.feed;
+
+import blog.article.domain.ArticleResponse;
+import blog.tag.domain.TagEntity;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders the feed documents. Titles and contents are written as text, so the XML writer escapes them.
+ */
+final class FeedWriter {
+
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final ArticleFeedProperties properties;
+
+    private final String baseUrl;
+
+    FeedWriter(ArticleFeedProperties properties) {
+        this.properties = properties;
+        this.baseUrl = properties.baseUrl().endsWith("/")
+                ? properties.baseUrl().substring(0, properties.baseUrl().length() - 1)
+                : properties.baseUrl();
+    }
+
+    byte[] write(FeedFormat format, List<ArticleResponse> articles, Instant updated) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        try {
+            XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            if (format == FeedFormat.ATOM) {
+                writeAtom(xml, articles, updated);
+            } else {
+                writeRss(xml, articles, updated);
+            }
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException ex) {
+            throw new IllegalStateException("Could not render the " + format + " feed", ex);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeAtom(XMLStreamWriter xml, List<ArticleResponse> articles, Instant updated)
+            throws XMLStreamException {
+
+        xml.writeStartElement("feed");
+        xml.writeDefaultNamespace(ATOM_NAMESPACE);
+        element(xml, "title", properties.title());
+        element(xml, "id", baseUrl + "/v1/articles");
+        link(xml, "self", baseUrl + "/v1/feed.atom");
+        element(xml, "updated", DateTimeFormatter.ISO_INSTANT.format(updated));
+        xml.writeStartElement("author");
+        element(xml, "name", properties.title());
+        xml.writeEndElement();
+
+        for (ArticleResponse article : articles) {
+            String url = articleUrl(article);
+            xml.writeStartElement("entry");
+            element(xml, "title", article.title());
+            element(xml, "id", url);
+            link(xml, "alternate", url);
+            element(xml, "updated", DateTimeFormatter.ISO_INSTANT.format(startOfDay(article.publishDate(), updated)));
+            for (TagEntity tag : tags(article)) {
+                xml.writeEmptyElement("category");
+                xml.writeAttribute("term", text(tag.getName()));
+            }
+            xml.writeStartElement("content");
+            xml.writeAttribute("type", "text");
+            xml.writeCharacters(text(article.content()));
+            xml.writeEndElement();
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    private void writeRss(XMLStreamWriter xml, List<ArticleResponse> articles, Instant updated)
+            throws XMLStreamException {
+
+        xml.writeStartElement("rss");
+        xml.writeAttribute("version", "2.0");
+        xml.writeStartElement("channel");
+        element(xml, "title", properties.title());
+        element(xml, "link", baseUrl + "/v1/articles");
+        element(xml, "description", properties.title());
+        element(xml, "lastBuildDate", rfc1123(updated));
+
+        for (ArticleResponse article : articles) {
+            String url = articleUrl(article);
+            xml.writeStartElement("item");
+            element(xml, "title", article.title());
+            element(xml, "link", url);
+            xml.writeStartElement("guid");
+            xml.writeAttribute("isPermaLink", "true");
+            xml.writeCharacters(url);
+            xml.writeEndElement();
+            element(xml, "pubDate", rfc1123(startOfDay(article.publishDate(), updated)));
+            for (TagEntity tag : tags(article)) {
+                element(xml, "category", tag.getName());
+            }
+            element(xml, "description", article.content());
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private String articleUrl(ArticleResponse article) {
+        return baseUrl + "/v1/articles/" + article.id();
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+
+        xml.writeStartElement(name);
+        xml.writeCharacters(text(value));
+        xml.writeEndElement();
+    }
+
+    private static void link(XMLStreamWriter xml, String relation, String href) throws XMLStreamException {
+
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("rel", relation);
+        xml.writeAttribute("href", href);
+    }
+
+    private static List<TagEntity> tags(ArticleResponse article) {
+        return article.tags() == null ? List.of() : article.tags();
+    }
+
+    private static Instant startOfDay(LocalDate date, Instant fallback) {
+        return date == null ? fallback : date.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    private static String rfc1123(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    // the writer escapes markup but not characters XML 1.0 cannot hold at all
+    private static String text(String value) {
+
+        if (value == null) {
+            return "";
+        }
+        StringBuilder clean = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean allowed = c >= 0x20 ? c != 0xFFFE && c != 0xFFFF : c == '\t' || c == '\n' || c == '\r';
+            if (!allowed && clean == null) {
+                clean = new StringBuilder(value.length()).append(value, 0, i);
+            } else if (allowed && clean != null) {
+                clean.append(c);
+            }
+        }
+        return clean == null ? value : clean.toString();
+    }
+}
@@ -0,0 +1,9 @@
+package blog.article.feed;
+
+import java.time.Instant;
+
+public record RenderedFeed(
+        byte[] body,
+        String etag,
+        Instant lastModified
+) {}
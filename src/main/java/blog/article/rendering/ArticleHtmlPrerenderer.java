@@ -0,0 +1,24 @@
+package blog.article.rendering;
+
+import blog.article.events.ArticleSavedEvent;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// renders on the task executor once the save commits, so neither the write nor the next read parses
+@Component
+public class ArticleHtmlPrerenderer {
+
+    private final ArticleHtmlRenderer htmlRenderer;
+
+    public ArticleHtmlPrerenderer(ArticleHtmlRenderer htmlRenderer) {
+        this.htmlRenderer = htmlRenderer;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleSaved(ArticleSavedEvent event) {
+
+        htmlRenderer.prerender(event.article().content());
+    }
+}
@@ -0,0 +1,64 @@
+package blog.article.rendering;
+
+import blog.CacheConfig;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Renders article markdown to HTML, once per distinct content.
+ * <p>
+ * The HTML is cached under a SHA-256 of the markdown, so a new version of an article renders again
+ * while saves that keep the content reuse the rendered page. Raw HTML in the markdown is escaped and
+ * unsafe link schemes are dropped, because the result is meant to be embedded as is.
+ */
+@Component
+public class ArticleHtmlRenderer {
+
+    private final Parser parser = Parser.builder().build();
+
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+
+    private final Cache cache;
+
+    public ArticleHtmlRenderer(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.ARTICLE_HTML_CACHE);
+    }
+
+    public String html(String markdown) {
+
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        return cache.get(hash(markdown), () -> render(markdown));
+    }
+
+    public void prerender(String markdown) {
+
+        html(markdown);
+    }
+
+    private String render(String markdown) {
+        return renderer.render(parser.parse(markdown));
+    }
+
+    private static String hash(String markdown) {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -1,19 +1,173 @@
 package blog.article.repositories;
 
 import blog.article.domain.ArticleEntity;
+import blog.article.domain.ArticlePublishDate;
+import blog.article.domain.ArticleTitle;
+import blog.article.domain.ArticleSummary;
+import blog.article.domain.ArticleTag;
+import blog.article.domain.ArticleVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<ArticleEntity, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
+    // summaries cut their excerpt from the stored one and never read the article bodies
+    String SUMMARY_QUERY = "SELECT new blog.article.domain.ArticleSummary(a.id, a.title, a.publishDate, " +
+            "CASE WHEN :excerpt > 0 THEN SUBSTRING(a.excerpt, 1, :excerpt) END) FROM articles a ";
+
+    // the body is written through the loaded entity, this statement only carries the version check
+    String UPDATE_CONTENT_QUERY = "UPDATE articles a SET a.title = :title, a.excerpt = :excerpt, " +
+            "a.publishDate = :publishDate, a.version = a.version + 1 WHERE a.id = :id ";
+
+    // tags and bodies are lazy: queries returning articles fetch them in the same statement, except the tags
+    // of the paged keyset queries, where a collection fetch would paginate in memory and batch fetching is used
+
+    @Override
+    @EntityGraph(attributePaths = {"tags", "body"})
+    List<ArticleEntity> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"tags", "body"})
+    Optional<ArticleEntity> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"tags", "body"})
+    List<ArticleEntity> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = {"tags", "body"})
     List<ArticleEntity> findAllByPublishDate(LocalDate publishDate);
 
-    @Query("SELECT a FROM articles a JOIN a.tags t WHERE t.name = :tagName")
+    // filter in a subquery so the fetched tags are not narrowed down to the matching one
+    @EntityGraph(attributePaths = {"tags", "body"})
+    @Query("SELECT a FROM articles a WHERE a.id IN " +
+            "(SELECT ta.id FROM articles ta JOIN ta.tags t WHERE t.name = :tagName)")
     List<ArticleEntity> findAllByTagsName(@Param("tagName")String tagName);
+
+    @Query("SELECT a.version FROM articles a WHERE a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(UPDATE_CONTENT_QUERY)
+    int updateContent(@Param("id") Long id, @Param("title") String title, @Param("excerpt") String excerpt,
+                      @Param("publishDate") LocalDate publishDate);
+
+    // the version check and the write are one statement, so two editors can never both pass the check
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(UPDATE_CONTENT_QUERY + "AND a.version = :version")
+    int updateContentIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("title") String title,
+                               @Param("excerpt") String excerpt, @Param("publishDate") LocalDate publishDate);
+
+    // bulk deletes never load the articles, Hibernate clears their article_tags rows in one statement first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM articles a WHERE a.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM articles a WHERE a.id = :id AND a.version = :version")
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Query("SELECT a.id FROM articles a WHERE a.publishDate BETWEEN :from AND :to ORDER BY a.id")
+    List<Long> findIdsPublishedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Query("SELECT new blog.article.domain.ArticleVersion(a.id, a.version) FROM articles a")
+    List<ArticleVersion> findAllVersions();
+
+    @Query("SELECT new blog.article.domain.ArticleVersion(a.id, a.version) FROM articles a " +
+            "WHERE a.publishDate = :publishDate")
+    List<ArticleVersion> findAllVersionsByPublishDate(@Param("publishDate") LocalDate publishDate);
+
+    @Query("SELECT new blog.article.domain.ArticleVersion(a.id, a.version) FROM articles a JOIN a.tags t " +
+            "WHERE t.name = :tagName")
+    List<ArticleVersion> findAllVersionsByTagsName(@Param("tagName") String tagName);
+
+    @Query(SUMMARY_QUERY + "ORDER BY a.publishDate DESC, a.id DESC")
+    List<ArticleSummary> findAllSummaries(@Param("excerpt") int excerpt);
+
+    @Query(SUMMARY_QUERY + "WHERE a.publishDate = :publishDate ORDER BY a.id DESC")
+    List<ArticleSummary> findAllSummariesByPublishDate(@Param("publishDate") LocalDate publishDate,
+                                                       @Param("excerpt") int excerpt);
+
+    @Query(SUMMARY_QUERY + "JOIN a.tags t WHERE t.name = :tagName ORDER BY a.publishDate DESC, a.id DESC")
+    List<ArticleSummary> findAllSummariesByTagsName(@Param("tagName") String tagName, @Param("excerpt") int excerpt);
+
+    @Query("SELECT new blog.article.domain.ArticleTag(a.id, t.id, t.name) FROM articles a JOIN a.tags t " +
+            "WHERE a.id IN :ids ORDER BY a.id, t.name")
+    List<ArticleTag> findTagsByArticleIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new blog.article.domain.ArticleTag(a.id, t.id, t.name) FROM articles a JOIN a.tags t")
+    List<ArticleTag> findAllArticleTags();
+
+    @Query("SELECT new blog.article.domain.ArticlePublishDate(a.id, a.publishDate) FROM articles a")
+    List<ArticlePublishDate> findAllPublishDates();
+
+    @Query("SELECT new blog.article.domain.ArticleTitle(a.id, a.title) FROM articles a WHERE a.id IN :ids")
+    List<ArticleTitle> findTitlesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "body")
+    @Query("SELECT a FROM articles a ORDER BY a.publishDate DESC, a.id DESC")
+    List<ArticleEntity> findNewest(Pageable pageable);
+
+    @Query("SELECT a.id FROM articles a ORDER BY a.publishDate DESC, a.id DESC")
+    List<Long> findNewestIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = "body")
+    @Query("SELECT a FROM articles a " +
+            "WHERE a.publishDate < :publishDate OR (a.publishDate = :publishDate AND a.id < :id) " +
+            "ORDER BY a.publishDate DESC, a.id DESC")
+    List<ArticleEntity> findOlderThan(@Param("publishDate") LocalDate publishDate, @Param("id") Long id,
+                                      Pageable pageable);
+
+    @EntityGraph(attributePaths = "body")
+    @Query("SELECT a FROM articles a " +
+            "WHERE a.publishDate > :publishDate OR (a.publishDate = :publishDate AND a.id > :id) " +
+            "ORDER BY a.publishDate ASC, a.id ASC")
+    List<ArticleEntity> findNewerThan(@Param("publishDate") LocalDate publishDate, @Param("id") Long id,
+                                      Pageable pageable);
+
+    @EntityGraph(attributePaths = "body")
+    @Query("SELECT a FROM articles a WHERE a.publishDate BETWEEN :from AND :to " +
+            "ORDER BY a.publishDate DESC, a.id DESC")
+    List<ArticleEntity> findNewestBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                          Pageable pageable);
+
+    @EntityGraph(attributePaths = "body")
+    @Query("SELECT a FROM articles a WHERE a.publishDate BETWEEN :from AND :to " +
+            "AND (a.publishDate < :publishDate OR (a.publishDate = :publishDate AND a.id < :id)) " +
+            "ORDER BY a.publishDate DESC, a.id DESC")
+    List<ArticleEntity> findOlderThanBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                             @Param("publishDate") LocalDate publishDate, @Param("id") Long id,
+                                             Pageable pageable);
+
+    @EntityGraph(attributePaths = "body")
+    @Query("SELECT a FROM articles a WHERE a.publishDate BETWEEN :from AND :to " +
+            "AND (a.publishDate > :publishDate OR (a.publishDate = :publishDate AND a.id > :id)) " +
+            "ORDER BY a.publishDate ASC, a.id ASC")
+    List<ArticleEntity> findNewerThanBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                             @Param("publishDate") LocalDate publishDate, @Param("id") Long id,
+                                             Pageable pageable);
+
+    @EntityGraph(attributePaths = {"tags", "body"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM articles a ORDER BY a.id")
+    Stream<ArticleEntity> streamAll();
 }
@@ -0,0 +1,71 @@
+package blog.article.repositories;
+
+import blog.article.views.ArticleViewCount;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Plain JDBC, because adding to a counter in one multi-row statement is an upsert JPA cannot express.
+ */
+@Repository
+public class ArticleViewRepository {
+
+    public static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private static final String POSTGRES_UPSERT = "INSERT INTO article_views (article_id, views) " +
+            "SELECT d.article_id, d.views FROM (VALUES %s) AS d (article_id, views) " +
+            "WHERE EXISTS (SELECT 1 FROM articles a WHERE a.id = d.article_id) " +
+            "ON CONFLICT (article_id) DO UPDATE SET views = article_views.views + EXCLUDED.views";
+
+    private static final String MERGE_UPSERT = "MERGE INTO article_views v " +
+            "USING (SELECT d.article_id, d.views FROM (VALUES %s) AS d (article_id, views) " +
+            "WHERE EXISTS (SELECT 1 FROM articles a WHERE a.id = d.article_id)) d " +
+            "ON v.article_id = d.article_id " +
+            "WHEN MATCHED THEN UPDATE SET views = v.views + d.views " +
+            "WHEN NOT MATCHED THEN INSERT (article_id, views) VALUES (d.article_id, d.views)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String upsert;
+
+    private final String row;
+
+    public ArticleViewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        boolean postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        this.upsert = postgres ? POSTGRES_UPSERT : MERGE_UPSERT;
+        this.row = postgres ? "(?, ?)" : "(CAST(? AS BIGINT), CAST(? AS BIGINT))";
+    }
+
+    public List<ArticleViewCount> findAll() {
+
+        return jdbcTemplate.query("SELECT article_id, views FROM article_views",
+                (rs, rowNum) -> new ArticleViewCount(rs.getLong("article_id"), rs.getLong("views")));
+    }
+
+    /**
+     * Adds the views to the stored totals in one statement, skipping articles deleted in the meantime.
+     */
+    public int addViews(List<ArticleViewCount> views) {
+
+        if (views.isEmpty()) {
+            return 0;
+        }
+        if (views.size() > MAX_ROWS_PER_STATEMENT) {
+            throw new IllegalArgumentException("at most " + MAX_ROWS_PER_STATEMENT + " rows per statement");
+        }
+
+        String sql = upsert.formatted(views.stream().map(view -> row).collect(Collectors.joining(", ")));
+        Object[] parameters = new Object[views.size() * 2];
+        for (int i = 0; i < views.size(); i++) {
+            parameters[2 * i] = views.get(i).articleId();
+            parameters[2 * i + 1] = views.get(i).views();
+        }
+        return jdbcTemplate.update(sql, parameters);
+    }
+}
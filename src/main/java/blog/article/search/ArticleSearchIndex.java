@@ -0,0 +1,279 @@
+package blog.article.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over article titles and contents, ranked with BM25.
+ * <p>
+ * Documents get dense int ids in insertion order, so every postings list is a pair of
+ * growable int arrays sorted by document. Updates and deletes tombstone the old document
+ * and the index compacts itself once tombstones outnumber live documents, whichever left them.
+ */
+@Component
+public class ArticleSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<Long, Integer> docsByArticle = new HashMap<>();
+
+    private long[] articleIds = new long[64];
+    private int[] lengths = new int[64];
+    // distinct term ids of each document, null once the document is deleted
+    private int[][] docTerms = new int[64][];
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+
+    public void index(long articleId, String title, String content) {
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = countTerms(title, TITLE_WEIGHT, frequencies) + countTerms(content, 1, frequencies);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(articleId);
+            int doc = docCount++;
+            ensureCapacity(docCount);
+
+            int[] terms = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int termId = termIds.computeIfAbsent(entry.getKey(), term -> {
+                    postings.add(new Postings());
+                    return postings.size() - 1;
+                });
+                postings.get(termId).add(doc, entry.getValue());
+                terms[i++] = termId;
+            }
+
+            articleIds[doc] = articleId;
+            lengths[doc] = length;
+            docTerms[doc] = terms;
+            docsByArticle.put(articleId, doc);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docCount - deletedCount;
+            if (terms.isEmpty() || liveDocs == 0 || limit <= 0) {
+                return List.of();
+            }
+
+            double averageLength = Math.max(1.0, (double) totalLength / liveDocs);
+            double[] scores = new double[docCount];
+            int[] candidates = new int[16];
+            int candidateCount = 0;
+
+            for (String term : terms) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    continue;
+                }
+                Postings termPostings = postings.get(termId);
+                double idf = Math.log(1 + (liveDocs - termPostings.live + 0.5) / (termPostings.live + 0.5));
+                for (int i = 0; i < termPostings.size; i++) {
+                    int doc = termPostings.docs[i];
+                    if (docTerms[doc] == null) {
+                        continue;
+                    }
+                    if (scores[doc] == 0) {
+                        if (candidateCount == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                        }
+                        candidates[candidateCount++] = doc;
+                    }
+                    int tf = termPostings.freqs[i];
+                    double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(Comparator.comparingDouble(SearchHit::score));
+            for (int i = 0; i < candidateCount; i++) {
+                int doc = candidates[i];
+                top.offer(new SearchHit(articleIds[doc], scores[doc]));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // live and tombstoned documents, which is what every search allocates scores for
+    int documentSlots() {
+
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static int countTerms(String text, int weight, Map<String, Integer> frequencies) {
+
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void removeDocument(long articleId) {
+
+        Integer doc = docsByArticle.remove(articleId);
+        if (doc == null) {
+            return;
+        }
+        for (int termId : docTerms[doc]) {
+            postings.get(termId).live--;
+        }
+        totalLength -= lengths[doc];
+        docTerms[doc] = null;
+        deletedCount++;
+        // re-indexing leaves a tombstone just like a delete, so both compact here
+        if (deletedCount >= MIN_DELETED_TO_COMPACT && deletedCount > docCount / 2) {
+            compact();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (capacity > articleIds.length) {
+            int newLength = Math.max(capacity, articleIds.length * 2);
+            articleIds = Arrays.copyOf(articleIds, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+            docTerms = Arrays.copyOf(docTerms, newLength);
+        }
+    }
+
+    private void compact() {
+
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docTerms[doc] == null) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = live;
+            articleIds[live] = articleIds[doc];
+            lengths[live] = lengths[doc];
+            docTerms[live] = docTerms[doc];
+            docsByArticle.put(articleIds[live], live);
+            live++;
+        }
+        Arrays.fill(docTerms, live, docCount, null);
+
+        for (Postings termPostings : postings) {
+            termPostings.compact(remap);
+        }
+        docCount = live;
+        deletedCount = 0;
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+        private int live;
+
+        void add(int doc, int freq) {
+
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            live++;
+        }
+
+        void compact(int[] remap) {
+
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, kept));
+                freqs = Arrays.copyOf(freqs, Math.max(4, kept));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package blog.article.search;
+
+import blog.article.domain.ArticleResponse;
+import blog.article.events.ArticleDeletedEvent;
+import blog.article.events.ArticleSavedEvent;
+import blog.article.services.ArticleService;
+import blog.tag.domain.TagEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class ArticleSearchIndexer implements SmartInitializingSingleton {
+
+    private final ArticleSearchIndex index;
+
+    private final ArticleTagIndex tagIndex;
+
+    private final ArticleService articleService;
+
+    public ArticleSearchIndexer(ArticleSearchIndex index, ArticleTagIndex tagIndex, ArticleService articleService) {
+        this.index = index;
+        this.tagIndex = tagIndex;
+        this.articleService = articleService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        articleService.exportArticles(this::index);
+        log.info("Indexed {} articles for search", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleSaved(ArticleSavedEvent event) {
+
+        index(event.article());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+
+        index.remove(event.id());
+        tagIndex.remove(event.id());
+    }
+
+    private void index(ArticleResponse article) {
+
+        index.index(article.id(), article.title(), article.content());
+        tagIndex.index(article.id(), article.publishDate(), article.tags() == null
+                ? List.of()
+                : article.tags().stream().map(TagEntity::getName).toList());
+    }
+}
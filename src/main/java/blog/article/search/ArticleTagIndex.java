@@ -0,0 +1,132 @@
+package blog.article.search;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory tag to article index for boolean tag queries.
+ * <p>
+ * Every tag keeps its articles in a compressed Roaring bitmap, so AND, OR and NOT are word-wise
+ * set operations instead of joins. A bitmap of all articles is kept as the universe for NOT.
+ * <p>
+ * Articles are stored as sort keys, the publish date in days above the id, so a bitmap lists them in
+ * (publish date, id) order like the keyset pages of the database.
+ */
+@Component
+public class ArticleTagIndex {
+
+    private static final int ID_BITS = 40;
+
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Roaring64Bitmap> articlesByTag = new HashMap<>();
+    private final Roaring64Bitmap articles = new Roaring64Bitmap();
+    private final Map<Long, Long> keysById = new HashMap<>();
+
+    public static long sortKey(LocalDate publishDate, long articleId) {
+
+        // days before 1970 sort with the first day, no article predates the blog
+        long day = publishDate == null ? 0 : Math.max(0, publishDate.toEpochDay());
+        return day << ID_BITS | articleId;
+    }
+
+    public static long articleId(long sortKey) {
+        return sortKey & ID_MASK;
+    }
+
+    public void index(long articleId, LocalDate publishDate, Collection<String> tagNames) {
+
+        long key = sortKey(publishDate, articleId);
+        lock.writeLock().lock();
+        try {
+            // only an already indexed article can be in any tag bitmap, which keeps the startup load linear
+            Long previous = keysById.put(articleId, key);
+            if (previous != null) {
+                articles.removeLong(previous);
+                removeFromTags(previous);
+            }
+            articles.addLong(key);
+            for (String tagName : tagNames) {
+                articlesByTag.computeIfAbsent(tagName, name -> new Roaring64Bitmap()).addLong(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+
+        lock.writeLock().lock();
+        try {
+            Long key = keysById.remove(articleId);
+            if (key != null) {
+                articles.removeLong(key);
+                removeFromTags(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the sort keys of the articles matching the expression, as a bitmap owned by the caller.
+     */
+    public Roaring64Bitmap query(TagExpression expression) {
+
+        lock.readLock().lock();
+        try {
+            return evaluate(expression);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Roaring64Bitmap evaluate(TagExpression expression) {
+
+        if (expression instanceof TagExpression.Tag tag) {
+            Roaring64Bitmap tagged = articlesByTag.get(tag.name());
+            return tagged == null ? new Roaring64Bitmap() : tagged.clone();
+        }
+        if (expression instanceof TagExpression.And and) {
+            Roaring64Bitmap left = evaluate(and.left());
+            // a AND NOT b subtracts b directly instead of building the complement of b first
+            if (and.right() instanceof TagExpression.Not not) {
+                left.andNot(evaluate(not.operand()));
+            } else {
+                left.and(evaluate(and.right()));
+            }
+            return left;
+        }
+        if (expression instanceof TagExpression.Or or) {
+            Roaring64Bitmap left = evaluate(or.left());
+            left.or(evaluate(or.right()));
+            return left;
+        }
+        TagExpression.Not not = (TagExpression.Not) expression;
+        Roaring64Bitmap all = articles.clone();
+        all.andNot(evaluate(not.operand()));
+        return all;
+    }
+
+    private void removeFromTags(long key) {
+
+        Iterator<Roaring64Bitmap> tagged = articlesByTag.values().iterator();
+        while (tagged.hasNext()) {
+            Roaring64Bitmap bitmap = tagged.next();
+            bitmap.removeLong(key);
+            if (bitmap.isEmpty()) {
+                tagged.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package blog.article.search;
+
+public record SearchHit(
+        long articleId,
+        double score
+) {}
@@ -0,0 +1,19 @@
+package blog.article.search;
+
+/**
+ * Boolean expression over tag names, such as {@code java AND performance NOT beginner}.
+ */
+public sealed interface TagExpression {
+
+    record Tag(String name) implements TagExpression {}
+
+    record And(TagExpression left, TagExpression right) implements TagExpression {}
+
+    record Or(TagExpression left, TagExpression right) implements TagExpression {}
+
+    record Not(TagExpression operand) implements TagExpression {}
+
+    static TagExpression parse(String query) {
+        return new TagQueryParser(query).parse();
+    }
+}
@@ -0,0 +1,143 @@
+package blog.article.search;
+
+import blog.article.controllers.exceptions.InvalidTagQueryException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive descent parser for tag queries.
+ * <p>
+ * {@code OR} binds loosest, then {@code AND}, then {@code NOT}. Tags next to each other are and-ed, so
+ * {@code a NOT b} reads as {@code a AND NOT b}. Operators are only recognised in upper case, leaving lower
+ * case words free as tag names, and names with spaces or parentheses are written in double quotes.
+ */
+final class TagQueryParser {
+
+    static final int MAX_QUERY_LENGTH = 512;
+
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+    private static final String NOT = "NOT";
+    private static final String OPEN = "(";
+    private static final String CLOSE = ")";
+
+    private final String query;
+    private final List<Token> tokens;
+    private int position;
+
+    TagQueryParser(String query) {
+        this.query = query;
+        this.tokens = tokenize(query);
+    }
+
+    TagExpression parse() {
+
+        if (tokens.isEmpty()) {
+            throw new InvalidTagQueryException(query, "no tags given");
+        }
+        TagExpression expression = or();
+        if (position < tokens.size()) {
+            throw new InvalidTagQueryException(query, "unexpected " + tokens.get(position).text());
+        }
+        return expression;
+    }
+
+    private TagExpression or() {
+
+        TagExpression left = and();
+        while (acceptOperator(OR)) {
+            left = new TagExpression.Or(left, and());
+        }
+        return left;
+    }
+
+    private TagExpression and() {
+
+        TagExpression left = unary();
+        while (acceptOperator(AND) || startsUnary()) {
+            left = new TagExpression.And(left, unary());
+        }
+        return left;
+    }
+
+    private TagExpression unary() {
+
+        if (acceptOperator(NOT)) {
+            return new TagExpression.Not(unary());
+        }
+        if (acceptOperator(OPEN)) {
+            TagExpression inner = or();
+            if (!acceptOperator(CLOSE)) {
+                throw new InvalidTagQueryException(query, "missing )");
+            }
+            return inner;
+        }
+        if (position < tokens.size() && !tokens.get(position).operator()) {
+            return new TagExpression.Tag(tokens.get(position++).text());
+        }
+        throw new InvalidTagQueryException(query, position < tokens.size()
+                ? "expected a tag before " + tokens.get(position).text()
+                : "expected a tag at the end");
+    }
+
+    private boolean startsUnary() {
+
+        if (position >= tokens.size()) {
+            return false;
+        }
+        Token next = tokens.get(position);
+        return !next.operator() || next.text().equals(NOT) || next.text().equals(OPEN);
+    }
+
+    private boolean acceptOperator(String operator) {
+
+        Token next = position < tokens.size() ? tokens.get(position) : null;
+        if (next != null && next.operator() && next.text().equals(operator)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private static List<Token> tokenize(String query) {
+
+        if (query == null) {
+            return List.of();
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidTagQueryException(query.substring(0, 32) + "...",
+                    "longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(new Token(String.valueOf(c), true));
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new InvalidTagQueryException(query, "unterminated quote");
+                }
+                tokens.add(new Token(query.substring(i + 1, end), false));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < query.length() && !Character.isWhitespace(query.charAt(i))
+                        && "()\"".indexOf(query.charAt(i)) < 0) {
+                    i++;
+                }
+                String word = query.substring(start, i);
+                tokens.add(new Token(word, word.equals(AND) || word.equals(OR) || word.equals(NOT)));
+            }
+        }
+        return tokens;
+    }
+
+    private record Token(String text, boolean operator) {}
+}
@@ -1,19 +1,49 @@
 package blog.article.services;
 
+import blog.article.archive.ArchiveMonth;
 import blog.article.domain.ArticleCreateRequest;
+import blog.article.domain.ArticleImportResult;
+import blog.article.domain.ArticlePage;
+import blog.article.domain.ArticlePatch;
 import blog.article.domain.ArticleResponse;
+import blog.article.domain.ArticleSummary;
 import blog.article.domain.ArticleUpdateRequest;
+import blog.article.domain.ArticleVersion;
+import blog.article.domain.MostViewedArticle;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ArticleService {
 
     ArticleResponse saveArticle(ArticleCreateRequest article);
+    List<ArticleImportResult> importArticles(Iterator<ArticleCreateRequest> articles);
     List<ArticleResponse> getAllArticles();
+    ArticlePage getArticlesPage(String cursor, int size);
+    ArticlePage getArticlesPageByDateRange(LocalDate from, LocalDate to, String cursor, int size);
+    void exportArticles(Consumer<ArticleResponse> sink);
     ArticleResponse getArticleById(Long id);
-    ArticleResponse updateArticle(Long id, ArticleUpdateRequest article);
-    void deleteArticle(Long id);
+    ArticleResponse renderHtml(ArticleResponse article);
+    Long getArticleVersion(Long id);
+    List<ArticleVersion> getArticleVersions();
+    List<ArticleVersion> getArticleVersionsByDate(LocalDate date);
+    List<ArticleVersion> getArticleVersionsByTagName(String tagName);
+    ArticleResponse updateArticle(Long id, ArticleUpdateRequest article, Long expectedVersion);
+    ArticleResponse patchArticle(Long id, ArticlePatch patch, Long expectedVersion);
+    void deleteArticle(Long id, Long expectedVersion);
+    int deleteArticles(Collection<Long> ids);
+    int deleteArticlesPublishedBetween(LocalDate from, LocalDate to);
     List<ArticleResponse> getArticlesByDate(LocalDate date);
     List<ArticleResponse> getArticlesByTagName(String tagName);
+    List<ArticleSummary> getArticleSummaries(int excerptLength);
+    List<ArticleSummary> getArticleSummariesByDate(LocalDate date, int excerptLength);
+    List<ArticleSummary> getArticleSummariesByTagName(String tagName, int excerptLength);
+    ArticlePage getArticlesByTagQuery(String query, String cursor, int size);
+    List<ArchiveMonth> getArchive();
+    void recordView(Long id);
+    List<MostViewedArticle> getMostViewed(int limit);
+    List<ArticleResponse> searchArticles(String query, int limit);
 }
@@ -1,38 +1,210 @@
 package blog.article.services.impl;
 
+import blog.CacheConfig;
+import blog.article.archive.ArchiveMonth;
+import blog.article.archive.ArticleArchive;
 import blog.article.controllers.exceptions.ArticleNotFoundException;
+import blog.article.controllers.exceptions.ArticleVersionMismatchException;
 import blog.article.domain.*;
+import blog.article.events.ArticleDeletedEvent;
+import blog.article.events.ArticleSavedEvent;
+import blog.article.rendering.ArticleHtmlRenderer;
 import blog.article.repositories.ArticleRepository;
+import blog.article.search.ArticleSearchIndex;
+import blog.article.search.ArticleTagIndex;
+import blog.article.search.SearchHit;
+import blog.article.search.TagExpression;
 import blog.article.services.ArticleService;
+import blog.article.views.ArticleViewCount;
+import blog.article.views.ArticleViewCounter;
+import blog.article.views.ArticleViews;
+import blog.tag.domain.TagEntity;
+import blog.tag.services.TagDictionary;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
+@Timed("blog.article.service")
 public class ArticleServiceImpl implements ArticleService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
+    static final int IMPORT_CHUNK_SIZE = 500;
+
+    static final int MAX_EXCERPT_LENGTH = ArticleEntity.EXCERPT_LENGTH;
+
+    static final int TAG_LOOKUP_CHUNK_SIZE = 1000;
+
+    static final int DELETE_CHUNK_SIZE = 1000;
+
     private final ArticleRepository articleRepository;
 
+    private final EntityManager entityManager;
+
+    private final TagDictionary tagDictionary;
+
+    private final ArticleSearchIndex searchIndex;
+
+    private final ArticleTagIndex tagIndex;
+
+    private final ArticleArchive archive;
+
+    private final ArticleViewCounter viewCounter;
+
+    private final ArticleViews views;
+
+    private final ArticleHtmlRenderer htmlRenderer;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
     @Autowired
-    public ArticleServiceImpl(final ArticleRepository articleRepository) {
+    public ArticleServiceImpl(final ArticleRepository articleRepository, final EntityManager entityManager,
+                              final TagDictionary tagDictionary, final ArticleSearchIndex searchIndex,
+                              final ArticleTagIndex tagIndex, final ArticleArchive archive,
+                              final ArticleViewCounter viewCounter, final ArticleViews views,
+                              final ArticleHtmlRenderer htmlRenderer, final ApplicationEventPublisher eventPublisher,
+                              final PlatformTransactionManager transactionManager) {
         this.articleRepository = articleRepository;
+        this.entityManager = entityManager;
+        this.tagDictionary = tagDictionary;
+        this.searchIndex = searchIndex;
+        this.tagIndex = tagIndex;
+        this.archive = archive;
+        this.viewCounter = viewCounter;
+        this.views = views;
+        this.htmlRenderer = htmlRenderer;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
+    @Transactional
     public ArticleResponse saveArticle(ArticleCreateRequest article) {
 
         ArticleEntity articleEntity = new ArticleEntity(article);
+        articleEntity.setTags(new LinkedHashSet<>(tagDictionary.resolve(article.tags())));
         ArticleEntity articleEntitySaved = articleRepository.save(articleEntity);
-        return new ArticleResponse(articleEntitySaved);
+        ArticleResponse savedArticle = new ArticleResponse(articleEntitySaved);
+        eventPublisher.publishEvent(new ArticleSavedEvent(savedArticle));
+        return savedArticle;
     }
 
     @Override
+    public List<ArticleImportResult> importArticles(Iterator<ArticleCreateRequest> articles) {
+
+        List<ArticleImportResult> results = new ArrayList<>();
+        int offset = 0;
+
+        while (true) {
+            List<ArticleCreateRequest> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            RuntimeException readError = null;
+            try {
+                while (chunk.size() < IMPORT_CHUNK_SIZE && articles.hasNext()) {
+                    chunk.add(articles.next());
+                }
+            } catch (RuntimeException ex) {
+                readError = ex;
+            }
+
+            importChunk(chunk, offset, results);
+            offset += chunk.size();
+
+            if (readError != null) {
+                log.debug("Stopped article import at unreadable item {}", offset, readError);
+                results.add(ArticleImportResult.failed(offset, readError.getMessage()));
+                return results;
+            }
+            if (chunk.size() < IMPORT_CHUNK_SIZE) {
+                return results;
+            }
+        }
+    }
+
+    private void importChunk(List<ArticleCreateRequest> chunk, int offset, List<ArticleImportResult> results) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            // one transaction and one JDBC batch per chunk
+            results.addAll(transactionTemplate.execute(status -> persistAll(chunk, offset)));
+        } catch (RuntimeException chunkFailure) {
+            // find the offending rows by retrying the chunk one article per transaction
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = offset + i;
+                List<ArticleCreateRequest> single = List.of(chunk.get(i));
+                try {
+                    results.addAll(transactionTemplate.execute(status -> persistAll(single, index)));
+                } catch (RuntimeException ex) {
+                    results.add(ArticleImportResult.failed(index, ex.getMessage()));
+                }
+            }
+        }
+    }
+
+    private List<ArticleImportResult> persistAll(List<ArticleCreateRequest> articles, int offset) {
+
+        // creating tags flushes the session, so all of them are resolved before the first article is persisted
+        // and the articles still go out in one batch
+        tagDictionary.resolve(articles.stream()
+                .filter(article -> article.tags() != null)
+                .flatMap(article -> article.tags().stream())
+                .toList());
+
+        List<ArticleEntity> entities = new ArrayList<>(articles.size());
+        for (ArticleCreateRequest article : articles) {
+            ArticleEntity articleEntity = new ArticleEntity(article);
+            articleEntity.setTags(new LinkedHashSet<>(tagDictionary.resolve(article.tags())));
+            entityManager.persist(articleEntity);
+            entities.add(articleEntity);
+        }
+        entityManager.flush();
+
+        List<ArticleImportResult> results = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            ArticleEntity saved = entities.get(i);
+            eventPublisher.publishEvent(new ArticleSavedEvent(new ArticleResponse(saved)));
+            results.add(ArticleImportResult.created(offset + i, saved.getId()));
+        }
+        entityManager.clear();
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ArticleResponse> getAllArticles() {
 
         return articleRepository.findAll().stream()
@@ -41,6 +213,90 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ArticlePage getArticlesPage(String cursor, int size) {
+
+        return seek(cursor, size, articleRepository::findNewest, articleRepository::findOlderThan,
+                articleRepository::findNewerThan);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ArticlePage getArticlesPageByDateRange(LocalDate from, LocalDate to, String cursor, int size) {
+
+        return seek(cursor, size,
+                limit -> articleRepository.findNewestBetween(from, to, limit),
+                (publishDate, id, limit) -> articleRepository.findOlderThanBetween(from, to, publishDate, id, limit),
+                (publishDate, id, limit) -> articleRepository.findNewerThanBetween(from, to, publishDate, id, limit));
+    }
+
+    private ArticlePage seek(String cursor, int size, Function<Pageable, List<ArticleEntity>> newest,
+                             SeekQuery older, SeekQuery newer) {
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // fetch one extra row to know whether another page exists in the seek direction
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        if (cursor == null || cursor.isBlank()) {
+            List<ArticleEntity> rows = newest.apply(limit);
+            return toPage(rows, pageSize, rows.size() > pageSize, false);
+        }
+
+        ArticleCursor position = ArticleCursor.decode(cursor);
+        if (position.direction() == ArticleCursor.Direction.NEXT) {
+            List<ArticleEntity> rows = older.find(position.publishDate(), position.id(), limit);
+            return toPage(rows, pageSize, rows.size() > pageSize, true);
+        }
+
+        List<ArticleEntity> rows = newer.find(position.publishDate(), position.id(), limit);
+        boolean hasPrevious = rows.size() > pageSize;
+        List<ArticleEntity> page = new ArrayList<>(rows.subList(0, Math.min(rows.size(), pageSize)));
+        Collections.reverse(page);
+        return toPage(page, pageSize, true, hasPrevious);
+    }
+
+    @FunctionalInterface
+    private interface SeekQuery {
+
+        List<ArticleEntity> find(LocalDate publishDate, Long id, Pageable limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportArticles(Consumer<ArticleResponse> sink) {
+
+        try (Stream<ArticleEntity> articles = articleRepository.streamAll()) {
+            int[] streamed = {0};
+            articles.forEach(article -> {
+                sink.accept(new ArticleResponse(article));
+                // keep the persistence context from growing with the corpus
+                if (++streamed[0] % ArticleRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
+    private ArticlePage toPage(List<ArticleEntity> rows, int pageSize, boolean hasNext, boolean hasPrevious) {
+
+        List<ArticleEntity> page = rows.subList(0, Math.min(rows.size(), pageSize));
+        if (page.isEmpty()) {
+            return new ArticlePage(List.of(), null, null);
+        }
+
+        String next = hasNext ? ArticleCursor.next(page.get(page.size() - 1)).encode() : null;
+        String previous = hasPrevious ? ArticleCursor.previous(page.get(0)).encode() : null;
+        List<ArticleResponse> articles = page.stream()
+                .map(ArticleResponse::new)
+                .collect(Collectors.toList());
+        return new ArticlePage(articles, next, previous);
+    }
+
+    // not read-only, so it reads from the primary: the cache serves what it loads until it expires, and a
+    // lagging replica could hand it the version an update or delete just evicted
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ARTICLES_CACHE, key = "#id")
     public ArticleResponse getArticleById(Long id) {
 
         ArticleEntity foundArticle = articleRepository.findById(id).
@@ -49,25 +305,178 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
-    public ArticleResponse updateArticle(Long id, ArticleUpdateRequest updateArticleDTO) {
+    public ArticleResponse renderHtml(ArticleResponse article) {
+
+        return article.withContent(htmlRenderer.html(article.content()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getArticleVersion(Long id) {
+
+        return articleRepository.findVersionById(id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleVersion> getArticleVersions() {
+
+        return articleRepository.findAllVersions();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleVersion> getArticleVersionsByDate(LocalDate date) {
+
+        return articleRepository.findAllVersionsByPublishDate(date);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleVersion> getArticleVersionsByTagName(String tagName) {
+
+        return articleRepository.findAllVersionsByTagsName(tagName);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ARTICLES_CACHE, key = "#id")
+    public ArticleResponse updateArticle(Long id, ArticleUpdateRequest updateArticleDTO, Long expectedVersion) {
+
+        // a conditional UPDATE instead of read-then-write, so a stale editor cannot overwrite a newer version
+        String excerpt = ArticleEntity.excerptOf(updateArticleDTO.content());
+        int updated = expectedVersion == null
+                ? articleRepository.updateContent(id, updateArticleDTO.title(), excerpt, LocalDate.now())
+                : articleRepository.updateContentIfVersion(id, expectedVersion, updateArticleDTO.title(), excerpt,
+                        LocalDate.now());
+        if (updated == 0) {
+            throw preconditionFailure(id, expectedVersion);
+        }
 
-        ArticleEntity articleToUpdate = new ArticleEntity(updateArticleDTO);
-        articleToUpdate.setId(id);
-        ArticleEntity updatedArticle = articleRepository.save(articleToUpdate);
-        return new ArticleResponse(updatedArticle);
+        // the row stays locked until commit, so the body and tag writes cannot race another writer. A changed
+        // tag set bumps the version once more, the returned one is always the stored one
+        ArticleEntity updatedArticle = articleRepository.findById(id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+        updatedArticle.setContent(updateArticleDTO.content());
+        updatedArticle.replaceTags(tagDictionary.resolve(updateArticleDTO.tags()));
+        articleRepository.flush();
+        ArticleResponse article = new ArticleResponse(updatedArticle);
+        eventPublisher.publishEvent(new ArticleSavedEvent(article));
+        return article;
     }
 
     @Override
-    public void deleteArticle(Long id) {
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ARTICLES_CACHE, key = "#id")
+    public ArticleResponse patchArticle(Long id, ArticlePatch patch, Long expectedVersion) {
 
+        ArticleEntity articleToPatch = articleRepository.findById(id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(articleToPatch.getVersion())) {
+            throw new ArticleVersionMismatchException(id);
+        }
+        // unchanged values stay clean, so the dynamic UPDATE only carries the columns that differ
+        if (patch.getTitle() != null) {
+            articleToPatch.setTitle(patch.getTitle().orElse(null));
+        }
+        if (patch.getContent() != null) {
+            articleToPatch.setContent(patch.getContent().orElse(null));
+        }
+        if (patch.getTags() != null) {
+            articleToPatch.replaceTags(tagDictionary.resolve(patch.getTags().orElse(List.of())));
+        }
+        // the entity is managed, a plain flush writes it and bumps the version without the merge
+        // that save would do, which would look up every added tag again. Its UPDATE is conditional on
+        // the version read above, which catches a writer that got in between
         try {
-            articleRepository.deleteById(id);
-        } catch (final EmptyResultDataAccessException ex) {
-            log.debug("Attempted to delete non-existing article", ex);
+            articleRepository.flush();
+        } catch (final ObjectOptimisticLockingFailureException ex) {
+            if (expectedVersion == null) {
+                throw ex;
+            }
+            throw new ArticleVersionMismatchException(id);
+        }
+        ArticleResponse article = new ArticleResponse(articleToPatch);
+        eventPublisher.publishEvent(new ArticleSavedEvent(article));
+        return article;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ARTICLES_CACHE, key = "#id")
+    public void deleteArticle(Long id, Long expectedVersion) {
+
+        // the version check is part of the DELETE, a stale one rolls back the removed tag links with it
+        int deleted = expectedVersion == null
+                ? articleRepository.deleteAllByIdIn(List.of(id))
+                : articleRepository.deleteByIdAndVersion(id, expectedVersion);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new ArticleDeletedEvent(id));
+        } else if (expectedVersion != null) {
+            throw preconditionFailure(id, expectedVersion);
+        } else {
+            log.debug("Attempted to delete non-existing article {}", id);
         }
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ARTICLES_CACHE, allEntries = true)
+    public int deleteArticles(Collection<Long> ids) {
+
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(distinctIds.size(), from + DELETE_CHUNK_SIZE));
+            deleted += transactionTemplate.execute(status -> deleteChunk(chunk));
+        }
+        return deleted;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ARTICLES_CACHE, allEntries = true)
+    public int deleteArticlesPublishedBetween(LocalDate from, LocalDate to) {
+
+        // every chunk commits on its own, so locks are held briefly and the next chunk starts from the front again.
+        // Only an empty chunk ends the range, a short one may just have lost rows to a concurrent delete
+        Pageable chunk = PageRequest.of(0, DELETE_CHUNK_SIZE);
+        int deleted = 0;
+        while (true) {
+            Integer chunkDeleted = transactionTemplate.execute(status -> {
+                List<Long> ids = articleRepository.findIdsPublishedBetween(from, to, chunk);
+                return ids.isEmpty() ? null : deleteChunk(ids);
+            });
+            if (chunkDeleted == null) {
+                return deleted;
+            }
+            deleted += chunkDeleted;
+        }
+    }
+
+    private int deleteChunk(List<Long> ids) {
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = articleRepository.deleteAllByIdIn(ids);
+        ids.forEach(id -> eventPublisher.publishEvent(new ArticleDeletedEvent(id)));
+        return deleted;
+    }
+
+    // only called once the conditional statement matched no row, to tell a missing article from a stale one
+    private RuntimeException preconditionFailure(Long id, Long expectedVersion) {
+
+        if (expectedVersion != null && articleRepository.existsById(id)) {
+            return new ArticleVersionMismatchException(id);
+        }
+        return new ArticleNotFoundException(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ArticleResponse> getArticlesByDate(LocalDate date) {
 
         return articleRepository.findAllByPublishDate(date).stream()
@@ -76,10 +485,163 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ArticleResponse> getArticlesByTagName(String tagName) {
 
         return articleRepository.findAllByTagsName(tagName).stream()
                 .map(ArticleResponse::new)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSummary> getArticleSummaries(int excerptLength) {
+
+        return withTags(articleRepository.findAllSummaries(clampExcerpt(excerptLength)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSummary> getArticleSummariesByDate(LocalDate date, int excerptLength) {
+
+        return withTags(articleRepository.findAllSummariesByPublishDate(date, clampExcerpt(excerptLength)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSummary> getArticleSummariesByTagName(String tagName, int excerptLength) {
+
+        return withTags(articleRepository.findAllSummariesByTagsName(tagName, clampExcerpt(excerptLength)));
+    }
+
+    private static int clampExcerpt(int excerptLength) {
+
+        return Math.min(Math.max(excerptLength, 0), MAX_EXCERPT_LENGTH);
+    }
+
+    private List<ArticleSummary> withTags(List<ArticleSummary> summaries) {
+
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+
+        List<Long> ids = summaries.stream().map(ArticleSummary::id).toList();
+        Map<Long, List<TagEntity>> tags = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += TAG_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + TAG_LOOKUP_CHUNK_SIZE));
+            for (ArticleTag tag : articleRepository.findTagsByArticleIdIn(chunk)) {
+                tags.computeIfAbsent(tag.articleId(), id -> new ArrayList<>())
+                        .add(new TagEntity(tag.tagId(), tag.tagName()));
+            }
+        }
+
+        return summaries.stream()
+                .map(summary -> summary.withTags(tags.getOrDefault(summary.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ArticlePage getArticlesByTagQuery(String query, String cursor, int size) {
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Roaring64Bitmap matches = tagIndex.query(TagExpression.parse(query));
+        if (matches.isEmpty()) {
+            return new ArticlePage(List.of(), null, null);
+        }
+
+        // the index keys articles by publish date and id, so walking it downwards lists the newest first
+        ArticleCursor position = cursor == null || cursor.isBlank() ? null : ArticleCursor.decode(cursor);
+        boolean backwards = position != null && position.direction() == ArticleCursor.Direction.PREVIOUS;
+        // one extra key tells whether another page exists in the seek direction
+        List<Long> ids = new ArrayList<>(pageSize + 1);
+        if (backwards) {
+            PeekableLongIterator iterator = matches.getLongIteratorFrom(
+                    ArticleTagIndex.sortKey(position.publishDate(), position.id()) + 1);
+            while (iterator.hasNext() && ids.size() <= pageSize) {
+                ids.add(ArticleTagIndex.articleId(iterator.next()));
+            }
+        } else {
+            // the reverse iterator of Roaring64Bitmap can start past the given key, so the page is selected by
+            // rank and read forwards instead
+            long before = position == null
+                    ? matches.getLongCardinality()
+                    : matches.rankLong(ArticleTagIndex.sortKey(position.publishDate(), position.id()) - 1);
+            long count = Math.min(before, pageSize + 1);
+            if (count > 0) {
+                PeekableLongIterator iterator = matches.getLongIteratorFrom(matches.select(before - count));
+                while (ids.size() < count) {
+                    ids.add(ArticleTagIndex.articleId(iterator.next()));
+                }
+                Collections.reverse(ids);
+            }
+        }
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = new ArrayList<>(ids.subList(0, Math.min(ids.size(), pageSize)));
+        if (backwards) {
+            Collections.reverse(pageIds);
+        }
+        if (pageIds.isEmpty()) {
+            return new ArticlePage(List.of(), null, null);
+        }
+
+        Map<Long, ArticleEntity> articles = articleRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(ArticleEntity::getId, Function.identity()));
+        List<ArticleEntity> page = pageIds.stream()
+                .map(articles::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return backwards
+                ? toPage(page, pageSize, true, hasMore)
+                : toPage(page, pageSize, hasMore, position != null);
+    }
+
+    @Override
+    public List<ArchiveMonth> getArchive() {
+
+        return archive.months();
+    }
+
+    @Override
+    public void recordView(Long id) {
+
+        viewCounter.increment(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MostViewedArticle> getMostViewed(int limit) {
+
+        List<ArticleViewCount> mostViewed = views.mostViewed(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        if (mostViewed.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> titles = new HashMap<>();
+        articleRepository.findTitlesByIdIn(mostViewed.stream().map(ArticleViewCount::articleId).toList())
+                .forEach(article -> titles.put(article.id(), article.title()));
+        return mostViewed.stream()
+                .filter(count -> titles.containsKey(count.articleId()))
+                .map(count -> new MostViewedArticle(count.articleId(), titles.get(count.articleId()), count.views()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleResponse> searchArticles(String query, int limit) {
+
+        List<SearchHit> hits = searchIndex.search(query, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ArticleEntity> articles = articleRepository.findAllById(hits.stream().map(SearchHit::articleId).toList())
+                .stream()
+                .collect(Collectors.toMap(ArticleEntity::getId, Function.identity()));
+        return hits.stream()
+                .map(hit -> articles.get(hit.articleId()))
+                .filter(Objects::nonNull)
+                .map(ArticleResponse::new)
+                .collect(Collectors.toList());
+    }
 }
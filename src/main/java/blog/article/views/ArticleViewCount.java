@@ -0,0 +1,6 @@
+package blog.article.views;
+
+public record ArticleViewCount(
+        long articleId,
+        long views
+) {}
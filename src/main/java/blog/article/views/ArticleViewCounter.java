@@ -0,0 +1,56 @@
+package blog.article.views;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Views counted since the last flush.
+ * <p>
+ * Every article gets a {@link LongAdder}, which spreads concurrent increments over striped cells,
+ * so readers of a popular article never contend on a lock or on a database row.
+ */
+@Component
+public class ArticleViewCounter {
+
+    private static final Comparator<ArticleViewCount> BY_ARTICLE = Comparator.comparingLong(ArticleViewCount::articleId);
+
+    private final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void increment(long articleId) {
+
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+    }
+
+    public void add(long articleId, long views) {
+
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).add(views);
+    }
+
+    public void remove(long articleId) {
+
+        pending.remove(articleId);
+    }
+
+    /**
+     * Takes the views counted so far and resets the counters, ordered by article id.
+     */
+    public List<ArticleViewCount> drain() {
+
+        List<ArticleViewCount> deltas = new ArrayList<>();
+        // adders are reset rather than removed, so an increment racing with the drain is never lost
+        pending.forEach((articleId, adder) -> {
+            long views = adder.sumThenReset();
+            if (views > 0) {
+                deltas.add(new ArticleViewCount(articleId, views));
+            }
+        });
+        deltas.sort(BY_ARTICLE);
+        return deltas;
+    }
+}
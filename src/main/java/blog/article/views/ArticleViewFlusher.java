@@ -0,0 +1,73 @@
+package blog.article.views;
+
+import blog.article.events.ArticleDeletedEvent;
+import blog.article.repositories.ArticleViewRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Writes the counted views behind the reads: every flush interval the deltas are merged into
+ * article_views with one upsert per {@value ArticleViewRepository#MAX_ROWS_PER_STATEMENT} articles.
+ * Views counted since the last flush are lost if the process dies.
+ */
+@Component
+@Slf4j
+public class ArticleViewFlusher implements SmartInitializingSingleton {
+
+    private final ArticleViewCounter counter;
+
+    private final ArticleViews views;
+
+    private final ArticleViewRepository viewRepository;
+
+    public ArticleViewFlusher(ArticleViewCounter counter, ArticleViews views, ArticleViewRepository viewRepository) {
+        this.counter = counter;
+        this.views = views;
+        this.viewRepository = viewRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        List<ArticleViewCount> totals = viewRepository.findAll();
+        views.add(totals);
+        log.info("Loaded view counts of {} articles", totals.size());
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval:PT5S}",
+            initialDelayString = "${blog.views.flush-interval:PT5S}")
+    @PreDestroy
+    public void flush() {
+
+        views.expireRemoved();
+        List<ArticleViewCount> deltas = counter.drain();
+        for (int from = 0; from < deltas.size(); from += ArticleViewRepository.MAX_ROWS_PER_STATEMENT) {
+            List<ArticleViewCount> chunk =
+                    deltas.subList(from, Math.min(from + ArticleViewRepository.MAX_ROWS_PER_STATEMENT, deltas.size()));
+            try {
+                viewRepository.addViews(chunk);
+            } catch (DataAccessException ex) {
+                // give back what was not written, the next flush retries it
+                deltas.subList(from, deltas.size()).forEach(delta -> counter.add(delta.articleId(), delta.views()));
+                log.warn("Could not flush the views of {} articles, retrying on the next flush",
+                        deltas.size() - from, ex);
+                return;
+            }
+            views.add(chunk);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+
+        counter.remove(event.id());
+        views.remove(event.id());
+    }
+}
@@ -0,0 +1,102 @@
+package blog.article.views;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * View totals of every article as of the last flush, so the most viewed list never reads the database.
+ * <p>
+ * The ranking is sorted on first read after a flush and shared until the next one. Removed articles are
+ * remembered for two flushes, so a delta drained just before the removal does not bring them back.
+ */
+@Component
+public class ArticleViews {
+
+    private static final Comparator<ArticleViewCount> BY_VIEWS = Comparator
+            .comparingLong(ArticleViewCount::views).reversed()
+            .thenComparing(Comparator.comparingLong(ArticleViewCount::articleId).reversed());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Long> totals = new HashMap<>();
+    private List<ArticleViewCount> ranking;
+
+    private Set<Long> removed = new HashSet<>();
+    private Set<Long> removedBefore = new HashSet<>();
+
+    public void add(Collection<ArticleViewCount> views) {
+
+        lock.writeLock().lock();
+        try {
+            for (ArticleViewCount count : views) {
+                if (!removed.contains(count.articleId()) && !removedBefore.contains(count.articleId())) {
+                    totals.merge(count.articleId(), count.views(), Long::sum);
+                }
+            }
+            ranking = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+
+        lock.writeLock().lock();
+        try {
+            removed.add(articleId);
+            if (totals.remove(articleId) != null) {
+                ranking = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Called at the start of every flush, the deltas drained before the older removals have all been added by now.
+     */
+    public void expireRemoved() {
+
+        lock.writeLock().lock();
+        try {
+            removedBefore = removed;
+            removed = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ArticleViewCount> mostViewed(int limit) {
+
+        lock.readLock().lock();
+        try {
+            if (ranking != null) {
+                return ranking.subList(0, Math.min(limit, ranking.size()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (ranking == null) {
+                ranking = totals.entrySet().stream()
+                        .map(total -> new ArticleViewCount(total.getKey(), total.getValue()))
+                        .sorted(BY_VIEWS)
+                        .toList();
+            }
+            return ranking.subList(0, Math.min(limit, ranking.size()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
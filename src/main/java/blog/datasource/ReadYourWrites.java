@@ -0,0 +1,22 @@
+package blog.datasource;
+
+// set while a request runs whose reads have to see what its client wrote
+final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
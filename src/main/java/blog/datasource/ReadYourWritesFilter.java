@@ -0,0 +1,93 @@
+package blog.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps the reads of a client on the primary for a while after it wrote, so replication lag never
+ * hides its own changes from it. The deadline travels with the client, so it holds on every instance:
+ * writes return it in a header and a cookie, and reads carrying either stay on the primary until then.
+ * Clients that send no credentials, like cross-origin browsers, echo the header instead of the cookie.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Blog-Primary-Until";
+
+    static final String COOKIE = "blog-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // added up front, the response may already be committed once the handler returns
+            String until = String.valueOf(now + window.toMillis());
+            response.setHeader(HEADER, until);
+            if (request.getHeader(HttpHeaders.ORIGIN) != null) {
+                response.addHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HEADER);
+            }
+            Cookie cookie = new Cookie(COOKIE, until);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        } else if (!pinned(request.getHeader(HEADER), now) && !pinned(cookie(request), now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ReadYourWrites.pinToPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    // the client chooses the value, so deadlines much further away than one window are not honoured,
+    // twice the window leaves room for the clocks of the instances to differ
+    private boolean pinned(String until, long now) {
+
+        if (until == null) {
+            return false;
+        }
+        try {
+            long deadline = Long.parseLong(until.trim());
+            return deadline > now && deadline <= now + 2 * window.toMillis();
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    private static String cookie(HttpServletRequest request) {
+
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
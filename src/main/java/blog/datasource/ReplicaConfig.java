@@ -0,0 +1,109 @@
+package blog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfig {
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties properties) {
+
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.readYourWrites()));
+        Duration window = properties.readYourWrites();
+        registration.setEnabled(!properties.urls().isEmpty() && !window.isZero() && !window.isNegative());
+        return registration;
+    }
+
+    // static so the post processor does not pull this configuration in early
+    @Bean
+    public static ReplicaRoutingPostProcessor replicaRoutingPostProcessor(ObjectProvider<ReplicaProperties> properties,
+                                                                          ObjectProvider<DataSourceProperties> dataSource) {
+        return new ReplicaRoutingPostProcessor(properties, dataSource);
+    }
+
+    /**
+     * Sends read-only transactions to the replicas. Transaction managers mark the connection read-only
+     * before its first statement, so the connection is only fetched once that is known. Ordered, so the
+     * SQL monitor wraps the result and records the statements of the replicas too.
+     */
+    static class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final ObjectProvider<ReplicaProperties> properties;
+
+        private final ObjectProvider<DataSourceProperties> dataSource;
+
+        private final List<ReplicaDataSource> created = new ArrayList<>();
+
+        ReplicaRoutingPostProcessor(ObjectProvider<ReplicaProperties> properties,
+                                    ObjectProvider<DataSourceProperties> dataSource) {
+            this.properties = properties;
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+            if (!(bean instanceof DataSource primary) || !"dataSource".equals(beanName)) {
+                return bean;
+            }
+            ReplicaProperties replicaProperties = properties.getObject();
+            if (replicaProperties.urls().isEmpty()) {
+                return bean;
+            }
+
+            DataSourceProperties primaryProperties = dataSource.getObject();
+            List<HikariDataSource> replicas = new ArrayList<>();
+            for (String url : replicaProperties.urls()) {
+                HikariDataSource replica = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .driverClassName(primaryProperties.determineDriverClassName())
+                        .url(url)
+                        .username(replicaProperties.username() != null
+                                ? replicaProperties.username() : primaryProperties.determineUsername())
+                        .password(replicaProperties.password() != null
+                                ? replicaProperties.password() : primaryProperties.determinePassword())
+                        .build();
+                replica.setPoolName("replica-" + (replicas.size() + 1));
+                replica.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+                replica.setConnectionTimeout(replicaProperties.connectionTimeout().toMillis());
+                replica.setReadOnly(true);
+                replicas.add(replica);
+            }
+
+            ReplicaDataSource readOnly = new ReplicaDataSource(primary, replicas, replicaProperties.selection(),
+                    replicaProperties.retryAfter());
+            created.add(readOnly);
+            LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+            routing.setReadOnlyDataSource(readOnly);
+            return routing;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void destroy() {
+            created.forEach(ReplicaDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package blog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections to one of the read replicas, picked round-robin or by the fewest connections
+ * in use. Reads go to the primary instead while the current request is pinned to it, or when no replica
+ * can be reached. A replica that failed to connect is left out until {@code retryAfter} has passed, one whose
+ * pool was only exhausted is just skipped for that read.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final ReplicaProperties.Selection selection;
+
+    private final long retryAfterNanos;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicas,
+                             ReplicaProperties.Selection selection, Duration retryAfter) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.retryAfterNanos = retryAfter.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        if (!ReadYourWrites.isPinnedToPrimary()) {
+            for (Replica replica : candidates()) {
+                Connection connection = replica.connect();
+                if (connection != null) {
+                    return connection;
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // replicas share the credentials they were configured with, other ones can only be used on the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private List<Replica> candidates() {
+
+        long now = System.nanoTime();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        List<Replica> candidates = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isUp(now)) {
+                candidates.add(replica);
+            }
+        }
+        // the sort is stable, so replicas with as many connections in use still take turns
+        if (selection == ReplicaProperties.Selection.LEAST_CONNECTIONS) {
+            candidates.sort(Comparator.comparingInt(Replica::activeConnections));
+        }
+        return candidates;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private final class Replica {
+
+        private final HikariDataSource dataSource;
+
+        private volatile boolean down;
+
+        private volatile long downSince;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean isUp(long now) {
+            return !down || now - downSince >= retryAfterNanos;
+        }
+
+        int activeConnections() {
+
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+
+        Connection connect() {
+
+            try {
+                Connection connection = dataSource.getConnection();
+                down = false;
+                return connection;
+            } catch (SQLTransientConnectionException ex) {
+                // Hikari gives the timeout the last failure to connect as its cause, without one the pool was busy
+                if (ex.getCause() == null) {
+                    log.debug("Read replica {} has no free connection, reading elsewhere", dataSource.getPoolName());
+                    return null;
+                }
+                return markDown(ex);
+            } catch (SQLException | RuntimeException ex) {
+                // a pool that cannot start throws unchecked exceptions
+                return markDown(ex);
+            }
+        }
+
+        private Connection markDown(Exception ex) {
+
+            if (!down) {
+                log.warn("Read replica {} is unreachable, leaving it out for {}", dataSource.getPoolName(),
+                        Duration.ofNanos(retryAfterNanos), ex);
+            }
+            downSince = System.nanoTime();
+            down = true;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package blog.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("blog.replicas")
+public record ReplicaProperties(
+        // JDBC urls of the read replicas, without any every statement goes to the primary
+        @DefaultValue List<String> urls,
+        // the primary's credentials are used when not set
+        String username,
+        String password,
+        @DefaultValue("round-robin") Selection selection,
+        // maximum size of the pool of each replica
+        @DefaultValue("10") int maximumPoolSize,
+        // how long a read waits for a replica connection before moving on to the next one
+        @DefaultValue("1s") Duration connectionTimeout,
+        // how long a replica that could not be reached is left out
+        @DefaultValue("30s") Duration retryAfter,
+        // how long the reads of a client stay on the primary after it wrote, zero to disable
+        @DefaultValue("5s") Duration readYourWrites
+) {
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+}
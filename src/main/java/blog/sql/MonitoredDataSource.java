@@ -0,0 +1,223 @@
+package blog.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps connections so every statement reports its execution time, row count and the types of its
+ * bound parameters to the {@link SqlMonitor}. Parameter values are never recorded.
+ */
+public class MonitoredDataSource extends DelegatingDataSource {
+
+    private final SqlMonitor monitor;
+
+    public MonitoredDataSource(DataSource target, SqlMonitor monitor) {
+        super(target);
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitored(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitored(super.getConnection(username, password));
+    }
+
+    private Connection monitored(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(MonitoredDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            Object result = MonitoredDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "prepareCall" ->
+                        proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareStatement" ->
+                        proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final List<String> parameters = new ArrayList<>();
+
+        // a query is recorded once its result set is closed, to include the row count
+        private Execution pending;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name, args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("close")) {
+                finishPending();
+            }
+            return MonitoredDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+
+            finishPending();
+            String statement = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            Object result = MonitoredDataSource.invoke(target, method, args);
+            Execution execution = new Execution(statement, parameters.toString(), System.nanoTime() - start);
+
+            if (result instanceof ResultSet resultSet) {
+                pending = execution;
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, execution));
+            }
+            execution.finish(rows(result));
+            return result;
+        }
+
+        private void bind(int index, String setter, Object value) {
+
+            String type = setter.equals("setNull") || value == null ? "null"
+                    : setter.equals("setObject") ? value.getClass().getSimpleName()
+                    : setter.substring(3);
+            while (parameters.size() < index) {
+                parameters.add("?");
+            }
+            parameters.set(index - 1, type);
+        }
+
+        private void finishPending() {
+
+            if (pending != null) {
+                pending.finish(pending.rows);
+                pending = null;
+            }
+        }
+
+        private long rows(Object result) {
+
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof Long count) {
+                return count;
+            }
+            long total = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    total += Math.max(count, 0);
+                }
+            } else {
+                return -1;
+            }
+            return total;
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final Execution execution;
+
+        ResultSetHandler(ResultSet target, Execution execution) {
+            this.target = target;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            Object result = MonitoredDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        execution.rows++;
+                    }
+                }
+                case "close" -> execution.finish(execution.rows);
+                default -> {
+                }
+            }
+            return result;
+        }
+    }
+
+    private final class Execution {
+
+        private final String sql;
+        private final String parameters;
+        private final long nanos;
+        private long rows;
+        private boolean finished;
+
+        Execution(String sql, String parameters, long nanos) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.nanos = nanos;
+        }
+
+        void finish(long rows) {
+
+            if (!finished) {
+                finished = true;
+                monitor.record(sql, parameters, nanos, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package blog.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlMonitor monitor;
+
+    public SlowQueriesEndpoint(SqlMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public List<SqlQueryStats> slowQueries(@Nullable Integer limit) {
+        return monitor.slowest(limit == null ? DEFAULT_LIMIT : limit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
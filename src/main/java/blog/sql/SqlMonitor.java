@@ -0,0 +1,132 @@
+package blog.sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Receives every statement executed through {@link MonitoredDataSource}. Logs the slow ones plus
+ * a sample of the rest, and aggregates timings per normalized statement for the slow query table.
+ */
+public class SqlMonitor {
+
+    // logged through an async appender, see logback-spring.xml
+    private static final Logger log = LoggerFactory.getLogger("blog.sql.SlowQueries");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int trackedQueries;
+
+    // statements come from a small set of generated SQL strings, so normalizing each one once is enough
+    private final Cache<String, String> normalized = Caffeine.newBuilder().maximumSize(1024).build();
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    public SqlMonitor(SqlMonitorProperties properties) {
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.sampleRate = properties.sampleRate();
+        this.trackedQueries = properties.trackedQueries();
+    }
+
+    void record(String sql, String parameters, long nanos, long rows) {
+
+        if (sql == null) {
+            return;
+        }
+
+        boolean slow = nanos >= slowThresholdNanos;
+        if (slow) {
+            log.warn("slow statement took {} ms, rows={} parameters={} sql={}", millis(nanos), rows, parameters, sql);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("sampled statement took {} ms, rows={} parameters={} sql={}", millis(nanos), rows, parameters, sql);
+        }
+
+        String key = normalized.get(sql, SqlMonitor::normalize);
+        Aggregate aggregate = aggregates.get(key);
+        if (aggregate == null) {
+            if (aggregates.size() >= trackedQueries && !(slow && evictFastest(nanos))) {
+                return;
+            }
+            aggregate = aggregates.computeIfAbsent(key, k -> new Aggregate());
+        }
+        aggregate.add(parameters, nanos, rows);
+    }
+
+    public List<SqlQueryStats> slowest(int limit) {
+
+        return aggregates.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(SqlQueryStats::maxMillis).reversed())
+                .limit(Math.max(limit, 0))
+                .toList();
+    }
+
+    public void reset() {
+        aggregates.clear();
+    }
+
+    static String normalize(String sql) {
+
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = IN_LIST.matcher(result).replaceAll("IN (?...)");
+        return WHITESPACE.matcher(result).replaceAll(" ").trim();
+    }
+
+    // only reached by slow statements once the table is full
+    private boolean evictFastest(long nanos) {
+
+        return aggregates.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().maxNanos.get()))
+                .filter(entry -> entry.getValue().maxNanos.get() < nanos)
+                .map(entry -> aggregates.remove(entry.getKey()) != null)
+                .orElse(false);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class Aggregate {
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private volatile String parameters;
+
+        void add(String parameters, long nanos, long rows) {
+
+            this.parameters = parameters;
+            executions.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (rows > 0) {
+                this.rows.add(rows);
+            }
+        }
+
+        SqlQueryStats snapshot(String sql) {
+
+            long count = executions.sum();
+            long total = totalNanos.sum();
+            return new SqlQueryStats(sql, parameters, count, rows.sum(), millis(total),
+                    count == 0 ? 0 : millis(total / count), millis(maxNanos.get()));
+        }
+    }
+}
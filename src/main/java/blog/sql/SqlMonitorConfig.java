@@ -0,0 +1,39 @@
+package blog.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(SqlMonitorProperties.class)
+public class SqlMonitorConfig {
+
+    @Bean
+    public SqlMonitor sqlMonitor(SqlMonitorProperties properties) {
+        return new SqlMonitor(properties);
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(SqlMonitor monitor) {
+        return new SlowQueriesEndpoint(monitor);
+    }
+
+    // static so the post processor does not pull this configuration in early
+    @Bean
+    public static BeanPostProcessor monitoredDataSourcePostProcessor(ObjectProvider<SqlMonitor> monitor) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof MonitoredDataSource)) {
+                    return new MonitoredDataSource(dataSource, monitor.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
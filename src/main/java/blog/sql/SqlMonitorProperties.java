@@ -0,0 +1,17 @@
+package blog.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("blog.sql")
+public record SqlMonitorProperties(
+        // statements at least this slow are always logged
+        @DefaultValue("200ms") Duration slowThreshold,
+        // fraction of the faster statements that is logged anyway
+        @DefaultValue("0") double sampleRate,
+        // distinct normalized statements kept for the slow query table
+        @DefaultValue("500") int trackedQueries
+) {
+}
@@ -0,0 +1,12 @@
+package blog.sql;
+
+public record SqlQueryStats(
+        String sql,
+        String parameters,
+        long executions,
+        long rows,
+        double totalMillis,
+        double meanMillis,
+        double maxMillis
+) {
+}
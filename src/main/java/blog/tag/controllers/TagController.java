@@ -0,0 +1,57 @@
+package blog.tag.controllers;
+
+import blog.tag.domain.TagCount;
+import blog.tag.domain.TagSort;
+import blog.tag.services.TagCloud;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.rmi.ServerError;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/tags")
+public class TagController {
+
+    private final TagCloud tagCloud;
+
+    public TagController(TagCloud tagCloud) {
+        this.tagCloud = tagCloud;
+    }
+
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    @GetMapping
+    @Operation(
+            tags = "Tag",
+            summary = "Return tags with their article counts",
+            description = "Return every tag used by an article with the number of articles using it, most used " +
+                    "first or by name. Tags without articles are left out"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Unknown sort order"),
+            @ApiResponse(responseCode = "500", description = "failed to get tags",
+            content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = ServerError.class))),
+    })
+    public ResponseEntity<List<TagCount>> getTags(
+            @RequestParam(name = "sort", defaultValue = "POPULARITY") TagSort sort,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+
+        List<TagCount> tags = tagCloud.tags(sort);
+        if (limit != null && limit >= 0 && limit < tags.size()) {
+            tags = tags.subList(0, limit);
+        }
+        return ResponseEntity.ok(tags);
+    }
+}
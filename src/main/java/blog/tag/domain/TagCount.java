@@ -0,0 +1,12 @@
+package blog.tag.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TagCount(
+        @Schema(description = "ID of the tag", example = "1")
+        Long id,
+        @Schema(description = "Name of the tag", example = "tag name")
+        String name,
+        @Schema(description = "Number of articles with the tag", example = "12")
+        int articles
+) {}
@@ -5,6 +5,7 @@ import lombok.*;
 
 @Getter
 @Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -14,9 +15,13 @@ import lombok.*;
 public class TagEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_seq")
+    @SequenceGenerator(name = "tags_seq", sequenceName = "tags_seq", allocationSize = 50)
     private Long id;
 
+    // tag names are unique, so they identify a tag before and after it is saved
+    @EqualsAndHashCode.Include
+    @Column(unique = true, nullable = false)
     private String name;
 
     public TagEntity(TagCreateRequest data) {
@@ -0,0 +1,3 @@
+package blog.tag.domain;
+
+public enum TagSort { POPULARITY, NAME }
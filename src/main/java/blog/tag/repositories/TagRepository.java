@@ -0,0 +1,24 @@
+package blog.tag.repositories;
+
+import blog.tag.domain.TagEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TagRepository extends JpaRepository<TagEntity, Long> {
+
+    List<TagEntity> findAllByNameIn(Collection<String> names);
+
+    // a tag created concurrently under the same name makes this a no-op instead of an error that aborts the
+    // caller's transaction. The id is a value of the pooled sequence itself, which no allocated block contains
+    @Modifying
+    @Query(value = "INSERT INTO tags (id, name) VALUES (nextval('tags_seq'), :name) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+}
@@ -0,0 +1,127 @@
+package blog.tag.services;
+
+import blog.tag.domain.TagCount;
+import blog.tag.domain.TagEntity;
+import blog.tag.domain.TagSort;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Number of articles per tag, kept up to date on every save and delete so the tag cloud
+ * never has to read the articles.
+ * <p>
+ * The tag ids of every article are remembered, because deletes only know the article id.
+ * Sorted views are built on first read after a change and shared until the next one.
+ */
+@Component
+public class TagCloud {
+
+    private static final Comparator<TagCount> BY_NAME = Comparator.comparing(TagCount::name);
+
+    private static final Comparator<TagCount> BY_POPULARITY =
+            Comparator.comparingInt(TagCount::articles).reversed().thenComparing(BY_NAME);
+
+    private static final long[] NO_TAGS = new long[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, long[]> tagsByArticle = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, Integer> counts = new HashMap<>();
+    private final Map<TagSort, List<TagCount>> views = new EnumMap<>(TagSort.class);
+
+    public void put(long articleId, Collection<TagEntity> tags) {
+
+        if (tags == null) {
+            remove(articleId);
+            return;
+        }
+        long[] tagIds = tags.stream()
+                .filter(tag -> tag.getId() != null)
+                .mapToLong(TagEntity::getId)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        lock.writeLock().lock();
+        try {
+            for (TagEntity tag : tags) {
+                if (tag.getId() != null) {
+                    names.put(tag.getId(), tag.getName());
+                }
+            }
+            long[] previous = tagIds.length == 0
+                    ? tagsByArticle.remove(articleId)
+                    : tagsByArticle.put(articleId, tagIds);
+            replace(previous == null ? NO_TAGS : previous, tagIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+
+        lock.writeLock().lock();
+        try {
+            long[] previous = tagsByArticle.remove(articleId);
+            if (previous != null) {
+                replace(previous, NO_TAGS);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<TagCount> tags(TagSort sort) {
+
+        lock.readLock().lock();
+        try {
+            List<TagCount> view = views.get(sort);
+            if (view != null) {
+                return view;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            return views.computeIfAbsent(sort, key -> counts.entrySet().stream()
+                    .map(count -> new TagCount(count.getKey(), names.get(count.getKey()), count.getValue()))
+                    .sorted(key == TagSort.NAME ? BY_NAME : BY_POPULARITY)
+                    .toList());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // both arrays are sorted, so one merge pass finds the removed and the added tags
+    private void replace(long[] previous, long[] current) {
+
+        if (Arrays.equals(previous, current)) {
+            return;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < previous.length || j < current.length) {
+            if (j == current.length || (i < previous.length && previous[i] < current[j])) {
+                counts.computeIfPresent(previous[i++], (tagId, articles) -> articles > 1 ? articles - 1 : null);
+            } else if (i == previous.length || current[j] < previous[i]) {
+                counts.merge(current[j++], 1, Integer::sum);
+            } else {
+                i++;
+                j++;
+            }
+        }
+        views.clear();
+    }
+}
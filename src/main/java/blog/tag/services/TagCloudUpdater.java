@@ -0,0 +1,55 @@
+package blog.tag.services;
+
+import blog.article.domain.ArticleTag;
+import blog.article.events.ArticleDeletedEvent;
+import blog.article.events.ArticleSavedEvent;
+import blog.article.repositories.ArticleRepository;
+import blog.tag.domain.TagEntity;
+import blog.tag.domain.TagSort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class TagCloudUpdater implements SmartInitializingSingleton {
+
+    private final TagCloud tagCloud;
+
+    private final ArticleRepository articleRepository;
+
+    public TagCloudUpdater(TagCloud tagCloud, ArticleRepository articleRepository) {
+        this.tagCloud = tagCloud;
+        this.articleRepository = articleRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        Map<Long, List<TagEntity>> tagsByArticle = new HashMap<>();
+        for (ArticleTag tag : articleRepository.findAllArticleTags()) {
+            tagsByArticle.computeIfAbsent(tag.articleId(), id -> new ArrayList<>())
+                    .add(new TagEntity(tag.tagId(), tag.tagName()));
+        }
+        tagsByArticle.forEach(tagCloud::put);
+        log.info("Counted articles of {} tags", tagCloud.tags(TagSort.NAME).size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleSaved(ArticleSavedEvent event) {
+
+        tagCloud.put(event.article().id(), event.article().tags());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+
+        tagCloud.remove(event.id());
+    }
+}
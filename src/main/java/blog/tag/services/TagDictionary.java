@@ -0,0 +1,117 @@
+package blog.tag.services;
+
+import blog.tag.domain.TagEntity;
+import blog.tag.repositories.TagRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+public class TagDictionary {
+
+    private final TagRepository tagRepository;
+
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    public TagDictionary(TagRepository tagRepository) {
+        this.tagRepository = tagRepository;
+    }
+
+    /**
+     * Missing tags are inserted in the caller's transaction, so resolving never needs a second connection.
+     * Their ids are cached once it commits and seen by later calls in the same transaction until then.
+     */
+    public List<TagEntity> resolve(List<TagEntity> tags) {
+
+        if (tags == null || tags.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> names = tags.stream()
+                .map(TagEntity::getName)
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, Long> created = createdInTransaction();
+        List<String> misses = names.stream()
+                .filter(name -> !idsByName.containsKey(name) && !created.containsKey(name))
+                .toList();
+        if (!misses.isEmpty()) {
+            load(misses, created);
+        }
+
+        return names.stream()
+                .map(name -> new TagEntity(idsByName.getOrDefault(name, created.get(name)), name))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private void load(List<String> names, Map<String, Long> created) {
+
+        tagRepository.findAllByNameIn(names)
+                .forEach(tag -> idsByName.put(tag.getName(), tag.getId()));
+
+        // inserting in name order makes concurrent writers wait on each other's unique keys in the same order,
+        // otherwise [a, b] and [b, a] each hold one key the other needs and Postgres aborts one as a deadlock
+        List<String> inserted = new ArrayList<>();
+        for (String name : names.stream().sorted().toList()) {
+            // nothing inserted means a concurrent transaction committed the tag first
+            if (!idsByName.containsKey(name) && tagRepository.insertIfAbsent(name) > 0) {
+                inserted.add(name);
+            }
+        }
+
+        List<String> reread = names.stream()
+                .filter(name -> !idsByName.containsKey(name))
+                .toList();
+        if (reread.isEmpty()) {
+            return;
+        }
+        for (TagEntity tag : tagRepository.findAllByNameIn(reread)) {
+            if (inserted.contains(tag.getName())) {
+                created.put(tag.getName(), tag.getId());
+            } else {
+                idsByName.put(tag.getName(), tag.getId());
+            }
+        }
+    }
+
+    // tags inserted by the current transaction, only cached once it commits as they may still roll back
+    private Map<String, Long> createdInTransaction() {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return idsByName;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Long> created = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+        if (created == null) {
+            Map<String, Long> bound = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    idsByName.putAll(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TagDictionary.this);
+                }
+            });
+            created = bound;
+        }
+        return created;
+    }
+}
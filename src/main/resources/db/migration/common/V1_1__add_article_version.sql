@@ -0,0 +1,2 @@
+-- optimistic locking, existing articles start at version 0
+ALTER TABLE articles ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,24 @@
+-- The first schema copied a tag row for every article using it and linked them through articles_tags.
+-- Tags are now shared, one row per trimmed name as TagDictionary stores them, and linked through article_tags.
+-- Each name keeps its lowest id, blank and null names are dropped.
+CREATE TABLE article_tags (
+    article_id BIGINT NOT NULL,
+    tag_id     BIGINT NOT NULL,
+    CONSTRAINT fk_article_tags_article FOREIGN KEY (article_id) REFERENCES articles (id),
+    CONSTRAINT fk_article_tags_tag FOREIGN KEY (tag_id) REFERENCES tags (id)
+);
+
+INSERT INTO article_tags (article_id, tag_id)
+SELECT DISTINCT l.articles_id, kept.id
+FROM articles_tags l
+JOIN tags t ON t.id = l.tags_id
+JOIN (SELECT TRIM(name) AS name, MIN(id) AS id FROM tags WHERE TRIM(name) <> '' GROUP BY TRIM(name)) kept
+    ON kept.name = TRIM(t.name);
+
+DROP TABLE articles_tags;
+
+DELETE FROM tags WHERE id NOT IN (SELECT MIN(id) FROM tags WHERE TRIM(name) <> '' GROUP BY TRIM(name));
+
+UPDATE tags SET name = TRIM(name);
+ALTER TABLE tags ALTER COLUMN name SET NOT NULL;
+ALTER TABLE tags ADD CONSTRAINT uk_tags_name UNIQUE (name);
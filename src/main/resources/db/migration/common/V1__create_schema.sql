@@ -0,0 +1,7 @@
+-- The schema Hibernate generated before the migrations, so existing databases can be baselined at this version.
+
+create table articles (publish_date date, id bigint generated by default as identity, content varchar(255), title varchar(255), primary key (id));
+create table articles_tags (articles_id bigint not null, tags_id bigint not null unique);
+create table tags (id bigint generated by default as identity, name varchar(255), primary key (id));
+alter table if exists articles_tags add constraint FKpq6t50xjngelojo3ugfu5wtet foreign key (tags_id) references tags;
+alter table if exists articles_tags add constraint FKj5sxdjmp7ne38aetcxky930at foreign key (articles_id) references articles;
@@ -0,0 +1,8 @@
+-- findAllByPublishDate and the newest-first keyset pages
+CREATE INDEX IF NOT EXISTS idx_articles_publish_date_id ON articles (publish_date DESC, id DESC);
+
+-- loading the tags of a set of articles
+CREATE INDEX IF NOT EXISTS idx_article_tags_article_id ON article_tags (article_id);
+
+-- articles by tag, tags.name is already covered by uk_tags_name
+CREATE INDEX IF NOT EXISTS idx_article_tags_tag_id ON article_tags (tag_id, article_id);
@@ -0,0 +1,7 @@
+-- view totals, merged in batches by the write-behind view counter
+CREATE TABLE article_views (
+    article_id BIGINT NOT NULL,
+    views      BIGINT NOT NULL,
+    CONSTRAINT pk_article_views PRIMARY KEY (article_id),
+    CONSTRAINT fk_article_views_article FOREIGN KEY (article_id) REFERENCES articles (id) ON DELETE CASCADE
+);
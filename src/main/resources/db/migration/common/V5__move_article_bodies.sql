@@ -0,0 +1,18 @@
+-- Article bodies move out of the article rows, so listing and metadata queries scan narrow rows.
+-- Bodies over the application's compression threshold are stored deflated in compressed_content,
+-- the others as text in content. Existing bodies are copied as text and compressed on their next write.
+CREATE TABLE article_bodies (
+    article_id         BIGINT NOT NULL,
+    content            VARCHAR,
+    compressed_content BYTEA,
+    CONSTRAINT pk_article_bodies PRIMARY KEY (article_id),
+    CONSTRAINT fk_article_bodies_article FOREIGN KEY (article_id) REFERENCES articles (id) ON DELETE CASCADE
+);
+
+INSERT INTO article_bodies (article_id, content) SELECT id, content FROM articles;
+
+-- summaries cut their excerpt from here
+ALTER TABLE articles ADD COLUMN excerpt VARCHAR(500);
+UPDATE articles SET excerpt = SUBSTRING(content, 1, 500);
+
+ALTER TABLE articles DROP COLUMN content;
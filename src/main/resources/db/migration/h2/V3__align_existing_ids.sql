@@ -0,0 +1,11 @@
+-- H2 counterpart of the PostgreSQL migration, for the test databases.
+
+ALTER TABLE articles ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE tags ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE articles ALTER COLUMN content SET DATA TYPE VARCHAR;
+
+-- the pooled optimizer hands out the 50 ids up to each value it reads
+CREATE SEQUENCE articles_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE tags_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE articles_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM articles);
+ALTER SEQUENCE tags_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM tags);
@@ -0,0 +1,15 @@
+-- Ids move from the identity columns of the first schema to pooled sequences starting after the current
+-- max ids, and content loses the varchar(255) limit Hibernate declared for it.
+
+ALTER TABLE articles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tags ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE articles ALTER COLUMN content TYPE VARCHAR;
+
+CREATE SEQUENCE IF NOT EXISTS articles_seq;
+CREATE SEQUENCE IF NOT EXISTS tags_seq;
+ALTER SEQUENCE articles_seq INCREMENT BY 50;
+ALTER SEQUENCE tags_seq INCREMENT BY 50;
+
+-- the pooled optimizer hands out the 50 ids up to each value it reads
+SELECT setval('articles_seq', COALESCE((SELECT MAX(id) FROM articles), 0) + 50, false);
+SELECT setval('tags_seq', COALESCE((SELECT MAX(id) FROM tags), 0) + 50, false);
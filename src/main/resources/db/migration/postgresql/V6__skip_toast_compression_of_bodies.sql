@@ -0,0 +1,3 @@
+-- compressed bodies are deflated by the application already, TOAST should move them out of line
+-- without trying to compress them a second time
+ALTER TABLE article_bodies ALTER COLUMN compressed_content SET STORAGE EXTERNAL;
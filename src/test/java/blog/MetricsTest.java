@@ -0,0 +1,64 @@
+package blog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("h2")
+public class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpointExposesRequestServiceHibernateAndPoolMetrics() throws Exception {
+
+        mockMvc.perform(get("/v1/articles")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("http_server_requests_seconds_count\\{[^}]*uri=\"/v1/articles\"[^}]*} \\d+")
+                .containsPattern("blog_article_service_seconds_bucket\\{[^}]*method=\"getAllArticles\"")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("cache_gets_total{cache=\"articles\"")
+                .contains("hikaricp_connections_active")
+                .contains("hikaricp_connections_pending");
+    }
+
+    @Test
+    void slowQueriesEndpointDefaultsItsLimit() throws Exception {
+
+        mockMvc.perform(get("/v1/articles")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void slowQueriesEndpointListsExecutedStatements() throws Exception {
+
+        mockMvc.perform(get("/v1/articles")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/slowqueries").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.sql =~ /select .* from articles .*/i)]").isNotEmpty());
+    }
+}
@@ -4,6 +4,7 @@ import blog.article.domain.*;
 import blog.tag.domain.TagEntity;
 
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 public class TestData {
@@ -38,7 +39,7 @@ public class TestData {
                 .id(1L)
                 .title("Title Article")
                 .content("Content of article")
-                .tags(List.of(testTagEntity()))
+                .tags(new LinkedHashSet<>(List.of(testTagEntity())))
                 .publishDate(LocalDate.now())
                 .build();
     }
@@ -0,0 +1,59 @@
+package blog.article.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArticleArchiveTest {
+
+    private final ArticleArchive underTest = new ArticleArchive();
+
+    @Test
+    void test_Months_Are_Counted_Newest_First() {
+
+        // given
+        underTest.put(1L, LocalDate.of(2023, 12, 31));
+        underTest.put(2L, LocalDate.of(2024, 2, 1));
+        underTest.put(3L, LocalDate.of(2024, 2, 29));
+
+        // when / then
+        assertThat(underTest.months()).containsExactly(
+                new ArchiveMonth(2024, 2, 2),
+                new ArchiveMonth(2023, 12, 1));
+    }
+
+    @Test
+    void test_Saving_Again_Moves_The_Article_To_Its_New_Month() {
+
+        // given
+        underTest.put(1L, LocalDate.of(2024, 1, 10));
+        underTest.put(2L, LocalDate.of(2024, 1, 20));
+
+        // when
+        underTest.put(1L, LocalDate.of(2024, 3, 1));
+        underTest.put(2L, LocalDate.of(2024, 1, 21));
+
+        // then
+        assertThat(underTest.months()).containsExactly(
+                new ArchiveMonth(2024, 3, 1),
+                new ArchiveMonth(2024, 1, 1));
+    }
+
+    @Test
+    void test_Removing_The_Last_Article_Drops_The_Month() {
+
+        // given
+        underTest.put(1L, LocalDate.of(2024, 1, 10));
+        underTest.put(2L, LocalDate.of(2024, 2, 10));
+
+        // when
+        underTest.remove(1L);
+        underTest.remove(1L);
+        underTest.remove(42L);
+
+        // then
+        assertThat(underTest.months()).containsExactly(new ArchiveMonth(2024, 2, 1));
+    }
+}
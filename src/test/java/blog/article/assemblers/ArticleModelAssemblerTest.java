@@ -0,0 +1,68 @@
+package blog.article.assemblers;
+
+import blog.TestData;
+import blog.article.controllers.ArticleController;
+import blog.article.domain.ArticleResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+public class ArticleModelAssemblerTest {
+
+    private final ArticleModelAssembler underTest = new ArticleModelAssembler();
+
+    @BeforeEach
+    void setUp() {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setScheme("https");
+        request.setServerName("blog.example.com");
+        request.setServerPort(443);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void test_Links_Match_The_Controller_Mappings() {
+
+        // given
+        ArticleResponse first = TestData.testArticleResponseDTO();
+        ArticleResponse second = new ArticleResponse(42L, "Title", "Content", List.of(), LocalDate.now());
+
+        // when
+        EntityModel<ArticleResponse> firstModel = underTest.toModel(first);
+        EntityModel<ArticleResponse> secondModel = underTest.toModel(second);
+
+        // then
+        assertRendersLike(firstModel, linkTo(methodOn(ArticleController.class).getArticle(first.id(), null, null)).withSelfRel().expand(),
+                linkTo(methodOn(ArticleController.class).getAllArticles(null)).withRel("articles"));
+        assertRendersLike(secondModel, linkTo(methodOn(ArticleController.class).getArticle(second.id(), null, null)).withSelfRel().expand(),
+                linkTo(methodOn(ArticleController.class).getAllArticles(null)).withRel("articles"));
+    }
+
+    private static void assertRendersLike(EntityModel<ArticleResponse> model, Link... expected) {
+
+        assertThat(model.getLinks()).hasSize(expected.length);
+        for (Link link : expected) {
+            Link actual = model.getRequiredLink(link.getRel());
+            assertThat(actual.getHref()).isEqualTo(link.getHref());
+            assertThat(actual.isTemplated()).isEqualTo(link.isTemplated());
+        }
+    }
+}
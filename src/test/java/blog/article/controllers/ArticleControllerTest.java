@@ -1,11 +1,17 @@
 package blog.article.controllers;
 
 import blog.TestData;
+import blog.article.archive.ArchiveMonth;
 import blog.article.assemblers.ArticleModelAssembler;
+import blog.article.assemblers.ArticleSummaryModelAssembler;
 import blog.article.controllers.exceptions.ArticleNotFoundException;
+import blog.article.controllers.exceptions.ArticleVersionMismatchException;
+import blog.article.controllers.exceptions.InvalidCursorException;
+import blog.article.controllers.exceptions.InvalidTagQueryException;
 import blog.article.domain.*;
 import blog.article.services.ArticleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
@@ -14,18 +20,35 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -33,7 +56,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest
+@WebMvcTest(ArticleController.class)
 public class ArticleControllerTest {
 
     @Autowired
@@ -48,6 +71,9 @@ public class ArticleControllerTest {
     @MockBean
     private ArticleModelAssembler assembler;
 
+    @MockBean
+    private ArticleSummaryModelAssembler summaryAssembler;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -63,8 +89,8 @@ public class ArticleControllerTest {
         final ArticleResponse articleResponse = new ArticleResponse(articleEntity);
 
         EntityModel<ArticleResponse> articleEntityModel = EntityModel.of(articleResponse,
-                linkTo(methodOn(ArticleController.class).getArticle(articleResponse.id())).withSelfRel(),
-                linkTo(methodOn(ArticleController.class).getAllArticles()).withRel("articles"));
+                linkTo(methodOn(ArticleController.class).getArticle(articleResponse.id(), null, null)).withSelfRel(),
+                linkTo(methodOn(ArticleController.class).getAllArticles(null)).withRel("articles"));
 
         // when - action or behaviour that we are going test
         when(service.saveArticle(any(ArticleCreateRequest.class))).thenReturn(articleResponse);
@@ -86,6 +112,44 @@ public class ArticleControllerTest {
                 .andExpect(jsonPath("$._links.articles.href").exists());
     }
 
+    // JUnit test for bulk import REST API
+    @Test
+    void givenJsonArrayAndNdjson_whenImportArticles_thenEveryArticleIsPassedThrough() throws Exception {
+
+        // given - precondition or setup
+        final ArticleCreateRequest article = TestData.testArticleRequestDTO();
+        final String line = objectMapper.writeValueAsString(article);
+        final List<String> imported = new ArrayList<>();
+
+        when(service.importArticles(any())).thenAnswer(invocation -> {
+            Iterator<ArticleCreateRequest> articles = invocation.getArgument(0);
+            List<ArticleImportResult> results = new ArrayList<>();
+            while (articles.hasNext()) {
+                imported.add(articles.next().title());
+                results.add(ArticleImportResult.created(results.size(), (long) results.size() + 1));
+            }
+            return results;
+        });
+
+        // when - action or behaviour that we are going test
+        ResultActions array = mockMvc.perform(post("/v1/articles/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + line + "," + line + "]"));
+        ResultActions ndjson = mockMvc.perform(post("/v1/articles/bulk")
+                .contentType("application/x-ndjson")
+                .content(line + "\n" + line + "\n" + line + "\n"));
+
+        // then - verify the result or output using assert statements
+        array.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].error").doesNotExist());
+        ndjson.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+        assertEquals(5, imported.size());
+    }
+
     // JUnit test for GET All articles REST API
     @Test
     void givenListOfArticles_whenGetAllArticles_thenReturnArticlesList() throws Exception {
@@ -109,6 +173,228 @@ public class ArticleControllerTest {
                 .andExpect(jsonPath("$._embedded.articleResponseList[0].title").value(article.title()));
     }
 
+    // JUnit test for GET articles page REST API
+    @Test
+    void givenPageOfArticles_whenGetArticlesPage_thenReturnPageWithCursorLinks() throws Exception {
+
+        // given - precondition or setup
+        final ArticleResponse article = TestData.testArticleResponseDTO();
+        final ArticlePage page = new ArticlePage(List.of(article), "bmV4dA", null);
+
+        // when - action or the behaviour that we are going test
+        when(service.getArticlesPage(null, 10)).thenReturn(page);
+        when(assembler.toModel(any(ArticleResponse.class))).thenReturn(EntityModel.of(article));
+
+        ResultActions response = mockMvc.perform(get("/v1/articles/page").param("size", "10")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$._embedded.articleResponseList[0].title").value(article.title()))
+                .andExpect(jsonPath("$._links.self.href").value("http://localhost/v1/articles/page?size=10"))
+                .andExpect(jsonPath("$._links.next.href")
+                        .value("http://localhost/v1/articles/page?cursor=bmV4dA&size=10"))
+                .andExpect(jsonPath("$._links.prev").doesNotExist());
+    }
+
+    // negative scenario - malformed cursor
+    @Test
+    void givenInvalidCursor_whenGetArticlesPage_thenReturn400() throws Exception {
+
+        // given - precondition or setup
+        when(service.getArticlesPage(eq("garbage"), anyInt())).thenThrow(new InvalidCursorException("garbage"));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/articles/page").param("cursor", "garbage"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    // JUnit test for GET articles by publish date range REST API
+    @Test
+    void givenDateRange_whenGetArticlesByPublishDate_thenReturnPageWithRangeInLinks() throws Exception {
+
+        // given - precondition or setup
+        final ArticleResponse article = TestData.testArticleResponseDTO();
+        final ArticlePage page = new ArticlePage(List.of(article), "bmV4dA", "cHJldg");
+        final LocalDate from = LocalDate.of(2024, 1, 1);
+        final LocalDate to = LocalDate.of(2024, 1, 31);
+
+        // when - action or the behaviour that we are going test
+        when(service.getArticlesPageByDateRange(from, to, "Y3Vy", 5)).thenReturn(page);
+        when(assembler.toModel(any(ArticleResponse.class))).thenReturn(EntityModel.of(article));
+
+        ResultActions response = mockMvc.perform(get("/v1/articles/filter")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-31")
+                .param("cursor", "Y3Vy")
+                .param("size", "5")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$._embedded.articleResponseList[0].title").value(article.title()))
+                .andExpect(jsonPath("$._links.self.href")
+                        .value("http://localhost/v1/articles/filter?from=2024-01-01&to=2024-01-31&cursor=Y3Vy&size=5"))
+                .andExpect(jsonPath("$._links.next.href")
+                        .value("http://localhost/v1/articles/filter?from=2024-01-01&to=2024-01-31&cursor=bmV4dA&size=5"))
+                .andExpect(jsonPath("$._links.prev.href")
+                        .value("http://localhost/v1/articles/filter?from=2024-01-01&to=2024-01-31&cursor=cHJldg&size=5"));
+        verify(service, never()).getArticlesByDate(any());
+    }
+
+    // JUnit test for GET most viewed articles REST API
+    @Test
+    void givenViews_whenGetMostViewed_thenReturnArticlesByViews() throws Exception {
+
+        // given - precondition or setup
+        when(service.getMostViewed(2)).thenReturn(List.of(new MostViewedArticle(3L, "Popular", 40),
+                new MostViewedArticle(1L, "Title Article", 25)));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/articles/most-viewed").param("limit", "2"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[0].title", is("Popular")))
+                .andExpect(jsonPath("$[0].views", is(40)))
+                .andExpect(jsonPath("$[1].id", is(1)));
+        verify(service, never()).recordView(any());
+    }
+
+    // JUnit test for GET articles by tag query REST API
+    @Test
+    void givenTagQuery_whenGetArticlesByTagQuery_thenReturnPageWithQueryInLinks() throws Exception {
+
+        // given - precondition or setup
+        final ArticleResponse article = TestData.testArticleResponseDTO();
+        final ArticlePage page = new ArticlePage(List.of(article), "7", null);
+
+        // when - action or the behaviour that we are going test
+        when(service.getArticlesByTagQuery("java NOT spring", null, 5)).thenReturn(page);
+        when(assembler.toModel(any(ArticleResponse.class))).thenReturn(EntityModel.of(article));
+
+        ResultActions response = mockMvc.perform(get("/v1/articles/tags")
+                .param("q", "java NOT spring")
+                .param("size", "5")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$._embedded.articleResponseList[0].title").value(article.title()))
+                .andExpect(jsonPath("$._links.self.href")
+                        .value("http://localhost/v1/articles/tags?q=java%20NOT%20spring&size=5"))
+                .andExpect(jsonPath("$._links.next.href")
+                        .value("http://localhost/v1/articles/tags?q=java%20NOT%20spring&cursor=7&size=5"));
+    }
+
+    // JUnit test for GET articles by tag query REST API
+    @Test
+    void givenTagQueryWithPlus_whenFollowingNextLink_thenSameQueryIsRun() throws Exception {
+
+        // given - precondition or setup
+        final String query = "\"c++\" AND a&b";
+        final ArticleResponse article = TestData.testArticleResponseDTO();
+        when(service.getArticlesByTagQuery(query, null, 5)).thenReturn(new ArticlePage(List.of(article), "bmV4dA", null));
+        when(service.getArticlesByTagQuery(query, "bmV4dA", 5)).thenReturn(new ArticlePage(List.of(article), null, null));
+        when(assembler.toModel(any(ArticleResponse.class))).thenReturn(EntityModel.of(article));
+
+        // when - action or the behaviour that we are going test
+        MvcResult first = mockMvc.perform(get("/v1/articles/tags")
+                        .param("q", query)
+                        .param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        String next = JsonPath.read(first.getResponse().getContentAsString(), "$._links.next.href");
+
+        // a servlet container decodes the query string as a form, so '+' must arrive encoded
+        MockHttpServletRequestBuilder following = get("/v1/articles/tags").accept(MediaType.APPLICATION_JSON);
+        for (String param : URI.create(next).getRawQuery().split("&")) {
+            String[] pair = param.split("=", 2);
+            following.param(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+        }
+        ResultActions response = mockMvc.perform(following);
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print());
+        assertEquals("http://localhost/v1/articles/tags?q=%22c%2B%2B%22%20AND%20a%26b&cursor=bmV4dA&size=5", next);
+        verify(service).getArticlesByTagQuery(query, "bmV4dA", 5);
+    }
+
+    // JUnit test for GET articles by tag query REST API
+    @Test
+    void givenMalformedTagQuery_whenGetArticlesByTagQuery_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+        when(service.getArticlesByTagQuery(eq("java AND"), any(), anyInt()))
+                .thenThrow(new InvalidTagQueryException("java AND", "expected a tag at the end"));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/articles/tags").param("q", "java AND"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    // JUnit test for GET archive REST API
+    @Test
+    void givenArchive_whenGetArchive_thenReturnMonthCounts() throws Exception {
+
+        // given - precondition or setup
+        when(service.getArchive()).thenReturn(List.of(new ArchiveMonth(2024, 2, 3), new ArchiveMonth(2024, 1, 1)));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/articles/archive"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$[0].year", is(2024)))
+                .andExpect(jsonPath("$[0].month", is(2)))
+                .andExpect(jsonPath("$[0].articles", is(3)))
+                .andExpect(jsonPath("$[1].month", is(1)));
+    }
+
+    // JUnit test for GET articles export REST API
+    @Test
+    void givenArticles_whenExportArticles_thenStreamNewlineDelimitedJson() throws Exception {
+
+        // given - precondition or setup
+        final ArticleResponse article = TestData.testArticleResponseDTO();
+
+        doAnswer(invocation -> {
+            Consumer<ArticleResponse> sink = invocation.getArgument(0);
+            sink.accept(article);
+            sink.accept(article);
+            return null;
+        }).when(service).exportArticles(any());
+
+        // when - action or the behaviour that we are going test
+        MvcResult result = mockMvc.perform(get("/v1/articles/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then - verify the output
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String line = objectMapper.writeValueAsString(article);
+        assertEquals(line + "\n" + line + "\n", body);
+    }
+
     // positive scenario - valid Article id
     // JUnit test for GET Article by id REST API
     @Test
@@ -119,7 +405,7 @@ public class ArticleControllerTest {
         ArticleResponse article = TestData.testArticleResponseDTO();
 
         EntityModel<ArticleResponse> articleEntityModel = EntityModel.of(article,
-                linkTo(methodOn(ArticleController.class).getArticle(article.id())).withSelfRel());
+                linkTo(methodOn(ArticleController.class).getArticle(article.id(), null, null)).withSelfRel());
 
         // when - action or behaviour that we are going test
         when(service.getArticleById(articleId)).thenReturn(article);
@@ -137,7 +423,92 @@ public class ArticleControllerTest {
                 .andExpect(jsonPath("$.tags[0].name", is(article.tags().get(0).getName())))
                 .andExpect(jsonPath("$.publishDate", is(article.publishDate().toString())))
                 .andExpect(jsonPath("$._links.self.href").exists());
+        verify(service).recordView(articleId);
+    }
+
+    // JUnit test for conditional GET Article by id REST API
+    @Test
+    void givenMatchingETag_whenGetArticleById_thenReturn304WithoutLoadingArticle() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+        when(service.getArticleVersion(articleId)).thenReturn(3L);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/articles/{id}", articleId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(service, never()).getArticleById(any());
+        verify(service).recordView(articleId);
+    }
+
+    // JUnit test for GET Article by id as HTML REST API
+    @Test
+    void givenHtmlFormat_whenGetArticleById_thenReturnRenderedContent() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+        ArticleResponse article = TestData.testArticleResponseDTO();
+        ArticleResponse rendered = article.withContent("<p>Content of article</p>\n");
+
+        // when - action or behaviour that we are going test
+        when(service.getArticleById(articleId)).thenReturn(article);
+        when(service.renderHtml(article)).thenReturn(rendered);
+        when(assembler.toModel(any(ArticleResponse.class))).thenAnswer(invocation -> EntityModel.of(invocation.getArgument(0)));
+
+        ResultActions response = mockMvc.perform(get("/v1/articles/{id}", articleId).param("format", "html"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content", is(rendered.content())));
+    }
+
+    @Test
+    void givenStaleETag_whenGetArticleById_thenReturnArticleWithCurrentETag() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+        ArticleResponse article = new ArticleResponse(articleId, "Title Article", "Content of article",
+                List.of(TestData.testTagEntity()), LocalDate.now(), 4L);
+
+        when(service.getArticleVersion(articleId)).thenReturn(4L);
+        when(service.getArticleById(articleId)).thenReturn(article);
+        when(assembler.toModel(any(ArticleResponse.class))).thenReturn(EntityModel.of(article));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/articles/{id}", articleId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    // JUnit test for conditional GET All articles REST API
+    @Test
+    void givenMatchingETag_whenGetAllArticles_thenReturn304WithoutLoadingArticles() throws Exception {
+
+        // given - precondition or setup
+        List<ArticleVersion> versions = List.of(new ArticleVersion(1L, 0L), new ArticleVersion(2L, 5L));
+        String etag = ArticleVersion.etag(versions);
+        when(service.getArticleVersions()).thenReturn(versions);
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/articles")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
 
+        // then - verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print());
+        verify(service, never()).getAllArticles();
     }
 
     // negative scenario - invalid article id
@@ -170,10 +541,10 @@ public class ArticleControllerTest {
         ArticleResponse articleResponse = new ArticleResponse(articleEntity);
 
         EntityModel<ArticleResponse> articleEntityModel = EntityModel.of(articleResponse,
-                linkTo(methodOn(ArticleController.class).getArticle(articleId)).withSelfRel(),
-                linkTo(methodOn(ArticleController.class).getAllArticles()).withRel("articles"));
+                linkTo(methodOn(ArticleController.class).getArticle(articleId, null, null)).withSelfRel(),
+                linkTo(methodOn(ArticleController.class).getAllArticles(null)).withRel("articles"));
 
-        given(service.updateArticle(eq(articleId), any(ArticleUpdateRequest.class))).willReturn(articleResponse);
+        given(service.updateArticle(eq(articleId), any(ArticleUpdateRequest.class), isNull())).willReturn(articleResponse);
         given(assembler.toModel(any(ArticleResponse.class))).willReturn(articleEntityModel);
 
         // when -  action or the behaviour that we are going test
@@ -202,7 +573,7 @@ public class ArticleControllerTest {
         ArticleUpdateRequest updatedArticle = TestData.testArticleUpdateDTO();
 
         // when - action or the behaviour that we are going test
-        when(service.updateArticle(eq(articleId), any(ArticleUpdateRequest.class))).thenThrow(new ArticleNotFoundException(articleId));
+        when(service.updateArticle(eq(articleId), any(ArticleUpdateRequest.class), isNull())).thenThrow(new ArticleNotFoundException(articleId));
 
         ResultActions response = mockMvc.perform(put("/v1/articles/{id}", articleId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -213,13 +584,105 @@ public class ArticleControllerTest {
                 .andDo(print());
     }
 
+    // JUnit test for update article REST API - If-Match passes the version and the new ETag comes back
+    @Test
+    void givenIfMatch_whenUpdateArticle_thenPassExpectedVersionAndReturnNewETag() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+        ArticleUpdateRequest updatedArticle = TestData.testArticleUpdateDTO();
+        ArticleResponse articleResponse = new ArticleResponse(articleId, updatedArticle.title(),
+                updatedArticle.content(), updatedArticle.tags(), LocalDate.now(), 3L);
+
+        given(service.updateArticle(eq(articleId), any(ArticleUpdateRequest.class), eq(2L))).willReturn(articleResponse);
+        given(assembler.toModel(any(ArticleResponse.class))).willReturn(EntityModel.of(articleResponse));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(put("/v1/articles/{id}", articleId)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedArticle)));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    // JUnit test for update article REST API - stale If-Match
+    @Test
+    void givenStaleIfMatch_whenUpdateArticle_thenReturn412() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+        ArticleUpdateRequest updatedArticle = TestData.testArticleUpdateDTO();
+
+        // when - action or the behaviour that we are going test
+        when(service.updateArticle(eq(articleId), any(ArticleUpdateRequest.class), eq(1L)))
+                .thenThrow(new ArticleVersionMismatchException(articleId));
+
+        ResultActions response = mockMvc.perform(put("/v1/articles/{id}", articleId)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedArticle)));
+
+        // then - verify the output
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    // JUnit test for patch article REST API
+    @Test
+    void givenMergePatch_whenPatchArticle_thenPassOnlyTheGivenFields() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+        ArticleResponse articleResponse = new ArticleResponse(articleId, "New title", "Content of article",
+                List.of(TestData.testTagEntity()), LocalDate.now(), 3L);
+
+        given(service.patchArticle(eq(articleId), any(ArticlePatch.class), isNull())).willReturn(articleResponse);
+        given(assembler.toModel(any(ArticleResponse.class))).willReturn(EntityModel.of(articleResponse));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(patch("/v1/articles/{id}", articleId)
+                .contentType(ArticleController.MERGE_PATCH_VALUE)
+                .content("{\"title\": \"New title\", \"tags\": null}"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.title", is("New title")));
+        verify(service).patchArticle(articleId, new ArticlePatch(Optional.of("New title"), null, Optional.empty()), null);
+    }
+
+    // JUnit test for patch article REST API - negative scenario
+    @Test
+    void givenUnknownArticle_whenPatchArticle_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+
+        // when - action or the behaviour that we are going test
+        when(service.patchArticle(eq(articleId), any(ArticlePatch.class), isNull()))
+                .thenThrow(new ArticleNotFoundException(articleId));
+
+        ResultActions response = mockMvc.perform(patch("/v1/articles/{id}", articleId)
+                .contentType(ArticleController.MERGE_PATCH_VALUE)
+                .content("{\"content\": \"New content\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
     // JUnit test for delete article REST API
     @Test
     void givenArticleId_whenDeleteArticle_thenReturn200() throws Exception {
 
         // given - precondition or setup
         Long articleId = 1L;
-        willDoNothing().given(service).deleteArticle(articleId);
+        willDoNothing().given(service).deleteArticle(articleId, null);
 
         // when -  action or the behaviour that we are going test
         ResultActions response = mockMvc.perform(delete("/v1/articles/{id}", articleId));
@@ -229,6 +692,106 @@ public class ArticleControllerTest {
                 .andDo(print());
     }
 
+    // JUnit test for delete article REST API - weak ETags never match under If-Match
+    @Test
+    void givenWeakIfMatch_whenDeleteArticle_thenPassUnmatchableVersion() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+        willThrow(new ArticleVersionMismatchException(articleId))
+                .given(service).deleteArticle(articleId, ArticleVersion.NO_VERSION);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/v1/articles/{id}", articleId)
+                .header(HttpHeaders.IF_MATCH, "W/\"2\""));
+
+        // then - verify the output
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    // JUnit test for delete article REST API - "*" only requires the article to exist
+    @Test
+    void givenWildcardIfMatch_whenDeleteArticle_thenDeleteAnyVersion() throws Exception {
+
+        // given - precondition or setup
+        Long articleId = 1L;
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/v1/articles/{id}", articleId)
+                .header(HttpHeaders.IF_MATCH, "*"));
+
+        // then - verify the output
+        response.andExpect(status().isNoContent());
+        verify(service).deleteArticle(articleId, null);
+    }
+
+    // JUnit test for bulk delete REST API
+    @Test
+    void givenIds_whenBulkDeleteArticles_thenReturnDeletedCount() throws Exception {
+
+        // given - precondition or setup
+        given(service.deleteArticles(List.of(1L, 2L, 3L))).willReturn(2);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/v1/articles/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1, 2, 3]}"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.deleted", is(2)));
+        verify(service, never()).deleteArticlesPublishedBetween(any(), any());
+    }
+
+    // JUnit test for bulk delete REST API - date range
+    @Test
+    void givenDateRange_whenBulkDeleteArticles_thenDeleteByPublishDate() throws Exception {
+
+        // given - precondition or setup
+        given(service.deleteArticlesPublishedBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .willReturn(7);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/v1/articles/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"from\": \"2024-01-01\", \"to\": \"2024-01-31\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(7)));
+    }
+
+    // JUnit test for bulk delete REST API - negative scenario
+    @Test
+    void givenIdsAndDates_whenBulkDeleteArticles_thenReturn400() throws Exception {
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/v1/articles/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1], \"from\": \"2024-01-01\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(service, never()).deleteArticles(any());
+    }
+
+    // JUnit test for bulk delete REST API - reversed date range
+    @Test
+    void givenReversedDateRange_whenBulkDeleteArticles_thenReturn400() throws Exception {
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/v1/articles/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"from\": \"2024-02-01\", \"to\": \"2024-01-01\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest());
+        verify(service, never()).deleteArticlesPublishedBetween(any(), any());
+    }
+
     // JUnit test for GET articles by publish date REST API
     @Test
     void givenListOfArticlesByPublishDate_whenGetArticles_thenReturnArticlesList() throws Exception {
@@ -276,4 +839,70 @@ public class ArticleControllerTest {
                 .andDo(print())
                 .andExpect(jsonPath("$._embedded.articleResponseList[0].title").value(article.title()));
     }
-}
\ No newline at end of file
+
+    // JUnit test for GET articles search REST API
+    @Test
+    void givenMatchingArticles_whenSearchArticles_thenReturnArticlesList() throws Exception {
+
+        // given - precondition or setup
+        final ArticleResponse article = TestData.testArticleResponseDTO();
+
+        // when - action or the behaviour that we are going test
+        when(service.searchArticles("title", 20)).thenReturn(List.of(article));
+        when(assembler.toModel(any(ArticleResponse.class))).thenReturn(EntityModel.of(article));
+
+        ResultActions response = mockMvc.perform(get("/v1/articles/search").param("q", "title")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$._embedded.articleResponseList[0].title").value(article.title()));
+    }
+
+    // JUnit test for GET article summaries REST API
+    @Test
+    void givenArticles_whenGetArticleSummaries_thenReturnSummariesWithoutContent() throws Exception {
+
+        // given - precondition or setup
+        final ArticleSummary summary = new ArticleSummary(1L, "Title Article",
+                List.of(TestData.testTagEntity()), LocalDate.now(), null);
+
+        // when - action or the behaviour that we are going test
+        when(service.getArticleSummaries(0)).thenReturn(List.of(summary));
+        when(summaryAssembler.toModel(any(ArticleSummary.class))).thenReturn(EntityModel.of(summary));
+
+        ResultActions response = mockMvc.perform(get("/v1/articles/summaries")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$._embedded.articleSummaryList[0].title").value(summary.title()))
+                .andExpect(jsonPath("$._embedded.articleSummaryList[0].content").doesNotExist())
+                .andExpect(jsonPath("$._embedded.articleSummaryList[0].excerpt").doesNotExist());
+    }
+
+    // JUnit test for GET article summaries by tag name REST API
+    @Test
+    void givenExcerptLength_whenGetArticleSummariesByTagName_thenReturnSummariesWithExcerpt() throws Exception {
+
+        // given - precondition or setup
+        String tagName = "tag name";
+        final ArticleSummary summary = new ArticleSummary(1L, "Title Article",
+                List.of(TestData.testTagEntity()), LocalDate.now(), "Content");
+
+        // when - action or the behaviour that we are going test
+        when(service.getArticleSummariesByTagName(tagName, 7)).thenReturn(List.of(summary));
+        when(summaryAssembler.toModel(any(ArticleSummary.class))).thenReturn(EntityModel.of(summary));
+
+        ResultActions response = mockMvc.perform(get("/v1/articles/summaries/tags/{tagName}", tagName)
+                .param("excerpt", "7")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$._embedded.articleSummaryList[0].excerpt").value("Content"));
+    }
+}
@@ -0,0 +1,486 @@
+package blog.article.controllers;
+
+import blog.CacheConfig;
+import blog.article.domain.ArticleCreateRequest;
+import blog.article.domain.ArticleEntity;
+import blog.article.domain.ArticleVersion;
+import blog.article.repositories.ArticleViewRepository;
+import blog.article.services.ArticleService;
+import blog.article.views.ArticleViewCount;
+import blog.article.views.ArticleViewFlusher;
+import blog.sql.SqlMonitor;
+import blog.sql.SqlQueryStats;
+import blog.tag.domain.TagEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each read endpoint sends to the database, so a lazy association
+ * loaded once per article fails the build instead of slowing down production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class ArticleQueryCountTest {
+
+    private static final int ARTICLES = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArticleViewFlusher viewFlusher;
+
+    @Autowired
+    private ArticleViewRepository viewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (service.getArticleVersions().isEmpty()) {
+            for (int i = 0; i < ARTICLES; i++) {
+                service.saveArticle(new ArticleCreateRequest("Article " + i, "Content about java " + i,
+                        List.of(new TagEntity(null, "java"), new TagEntity(null, i % 2 == 0 ? "spring" : "jpa"))));
+            }
+        }
+        cacheManager.getCache(CacheConfig.ARTICLES_CACHE).clear();
+    }
+
+    @Test
+    void getAllArticles_LoadsArticlesAndTagsInOneStatement() throws Exception {
+
+        perform(1, get("/v1/articles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList.length()").value(ARTICLES))
+                .andExpect(jsonPath("$._embedded.articleResponseList[0].tags.length()").value(2));
+    }
+
+    @Test
+    void getAllArticles_RevalidatesWithOneStatement() throws Exception {
+
+        String etag = ArticleVersion.etag(service.getArticleVersions());
+
+        perform(1, get("/v1/articles").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getArticlesByPublishDate_LoadsArticlesAndTagsInOneStatement() throws Exception {
+
+        perform(1, get("/v1/articles/filter").param("date", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList.length()").value(ARTICLES));
+    }
+
+    @Test
+    void getArticlesByTagName_LoadsEveryArticleOnceWithAllItsTags() throws Exception {
+
+        perform(1, get("/v1/articles/tags/{tagName}", "java"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList.length()").value(ARTICLES))
+                .andExpect(jsonPath("$._embedded.articleResponseList[0].tags.length()").value(2));
+    }
+
+    @Test
+    void getArticle_LoadsArticleAndTagsInOneStatementThenHitsTheCache() throws Exception {
+
+        Long id = service.getArticleVersions().get(0).id();
+
+        perform(1, get("/v1/articles/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(2));
+        perform(0, get("/v1/articles/{id}", id))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getArticlesPage_BatchFetchesTags() throws Exception {
+
+        perform(2, get("/v1/articles/page").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList.length()").value(5))
+                .andExpect(jsonPath("$._embedded.articleResponseList[4].tags.length()").value(2));
+    }
+
+    @Test
+    void getArticleSummaries_LoadsSummariesAndTagsInTwoStatements() throws Exception {
+
+        perform(2, get("/v1/articles/summaries").param("excerpt", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleSummaryList.length()").value(ARTICLES));
+    }
+
+    @Test
+    void getArticleSummaries_ListTagsByNameLikeTheFullArticle() throws Exception {
+
+        // "spring" was created before "jpa", so its id comes first
+        Long id = service.saveArticle(new ArticleCreateRequest("Tagged", "Tagged content",
+                List.of(new TagEntity(null, "spring"), new TagEntity(null, "jpa")))).id();
+        try {
+            mockMvc.perform(get("/v1/articles/{id}", id).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.tags[*].name", contains("jpa", "spring")));
+            perform(2, get("/v1/articles/summaries"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.articleSummaryList[?(@.id == " + id + ")].tags[*].name",
+                            contains("jpa", "spring")));
+        } finally {
+            service.deleteArticle(id, null);
+        }
+    }
+
+    @Test
+    void searchArticles_LoadsHitsAndTagsInOneStatement() throws Exception {
+
+        perform(1, get("/v1/articles/search").param("q", "java"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList.length()").value(ARTICLES));
+    }
+
+    @Test
+    void getArticlesByTagQuery_MatchesInMemoryAndLoadsOnlyThePage() throws Exception {
+
+        perform(1, get("/v1/articles/tags").param("q", "java NOT spring").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList.length()").value(3))
+                .andExpect(jsonPath("$._embedded.articleResponseList[*].tags[*].name", hasItem("jpa")))
+                .andExpect(jsonPath("$._embedded.articleResponseList[*].tags[*].name", not(hasItem("spring"))))
+                .andExpect(jsonPath("$._links.next.href").exists());
+    }
+
+    @Test
+    void exportArticles_StreamsArticlesAndTagsInOneStatement() {
+
+        List<Long> exported = new ArrayList<>();
+
+        statistics.clear();
+        service.exportArticles(article -> {
+            assertThat(article.tags()).hasSize(2);
+            exported.add(article.id());
+        });
+
+        assertThat(exported).hasSize(ARTICLES).doesNotHaveDuplicates();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getArticlesByPublishDateRange_LoadsPageAndBatchesTags() throws Exception {
+
+        LocalDate today = LocalDate.now();
+
+        // the page, then one batch for the tags of all its articles
+        perform(2, get("/v1/articles/filter")
+                .param("from", today.minusDays(1).toString())
+                .param("to", today.toString())
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList.length()").value(5))
+                .andExpect(jsonPath("$._links.next.href").exists());
+    }
+
+    @Test
+    void getArchive_IsServedWithoutQueries() throws Exception {
+
+        YearMonth month = YearMonth.now();
+
+        perform(0, get("/v1/articles/archive"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].year").value(month.getYear()))
+                .andExpect(jsonPath("$[0].month").value(month.getMonthValue()))
+                .andExpect(jsonPath("$[0].articles").value(service.getArticleVersionsByDate(LocalDate.now()).size()));
+    }
+
+    @Test
+    void getTags_IsServedWithoutQueries() throws Exception {
+
+        perform(0, get("/v1/tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("java"))
+                .andExpect(jsonPath("$[0].articles").value(service.getArticlesByTagName("java").size()));
+    }
+
+    @Test
+    void getArticle_CountsViewsInMemoryAndFlushesThemInOneUpsert() throws Exception {
+
+        Long id = service.getArticleVersions().get(0).id();
+        viewFlusher.flush();
+        long before = jdbcTemplate.queryForList("SELECT views FROM article_views WHERE article_id = ?", Long.class, id)
+                .stream().findFirst().orElse(0L);
+
+        perform(1, get("/v1/articles/{id}", id)).andExpect(status().isOk());
+        perform(0, get("/v1/articles/{id}", id)).andExpect(status().isOk());
+        perform(0, get("/v1/articles/{id}", id)).andExpect(status().isOk());
+
+        sqlMonitor.reset();
+        viewFlusher.flush();
+        assertThat(sqlMonitor.slowest(10)).extracting(SqlQueryStats::executions).containsExactly(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT views FROM article_views WHERE article_id = ?", Long.class, id))
+                .isEqualTo(before + 3);
+
+        // the ranking comes from memory, only the titles are loaded
+        perform(1, get("/v1/articles/most-viewed").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + id + ")].views", hasItem((int) before + 3)));
+
+        // views of an article deleted before the flush are dropped instead of failing the batch
+        assertThat(viewRepository.addViews(List.of(new ArticleViewCount(Long.MAX_VALUE, 1)))).isZero();
+    }
+
+    @Test
+    void getFeed_IsServedFromMemoryUntilAnArticleInItsWindowChanges() throws Exception {
+
+        mockMvc.perform(get("/v1/feed.atom")).andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(get("/v1/feed.atom"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<entry>")));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Long id = service.saveArticle(new ArticleCreateRequest("Fresh feed entry", "Content about java",
+                List.of(new TagEntity(null, "java")))).id();
+
+        statistics.clear();
+        mockMvc.perform(get("/v1/feed.rss"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<title>Fresh feed entry</title>")));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        service.deleteArticle(id, null);
+        mockMvc.perform(get("/v1/feed.rss"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("Fresh feed entry"))));
+    }
+
+    @Test
+    void getArticleAsHtml_IsRenderedOffTheRequestThreadAfterTheSave() throws Exception {
+
+        Cache<Object, Object> html =
+                ((CaffeineCache) cacheManager.getCache(CacheConfig.ARTICLE_HTML_CACHE)).getNativeCache();
+        long cached = html.estimatedSize();
+        Long id = service.saveArticle(new ArticleCreateRequest("Markdown", "# Heading\n\nRendered *once*.",
+                List.of(new TagEntity(null, "java"), new TagEntity(null, "jpa")))).id();
+        for (int i = 0; i < 100 && html.estimatedSize() == cached; i++) {
+            Thread.sleep(50);
+        }
+        long misses = html.stats().missCount();
+
+        perform(1, get("/v1/articles/{id}", id).param("format", "HTML"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("<h1>Heading</h1>\n<p>Rendered <em>once</em>.</p>\n"));
+
+        assertThat(html.stats().missCount()).isEqualTo(misses);
+        service.deleteArticle(id, null);
+    }
+
+    @Test
+    void patchArticle_WritesOnlyTheChangedColumnAndTagRow() throws Exception {
+
+        Long id = service.getArticlesByTagName("spring").get(0).id();
+        sqlMonitor.reset();
+
+        perform(4, patch("/v1/articles/{id}", id)
+                .contentType("application/merge-patch+json")
+                .content("{\"title\": \"Patched java\", \"tags\": [{\"name\": \"java\"}, {\"name\": \"jpa\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Patched java"))
+                .andExpect(jsonPath("$.content").isNotEmpty());
+
+        // only the title and version columns, and a single join row out and in
+        assertThat(sqlMonitor.slowest(10)).extracting(SqlQueryStats::sql)
+                .contains("update articles set title=?,version=? where id=? and version=?")
+                .contains("delete from article_tags where article_id=? and tag_id=?")
+                .contains("insert into article_tags (article_id,tag_id) values (?,?)");
+    }
+
+    @Test
+    void putArticle_ChecksIfMatchInTheUpdateStatement() throws Exception {
+
+        Long id = service.getArticlesByTagName("jpa").get(0).id();
+        Long version = service.getArticleVersion(id);
+        String body = "{\"title\": \"Put java\", \"content\": \"Put content\", \"tags\": [{\"name\": \"jpa\"}]}";
+        sqlMonitor.reset();
+
+        mockMvc.perform(put("/v1/articles/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, ArticleVersion.etag(version - 1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(service.getArticleVersion(id)).isEqualTo(version);
+
+        // no select before the write, the version check is part of the UPDATE itself
+        String etag = mockMvc.perform(put("/v1/articles/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, ArticleVersion.etag(version))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Put java"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo(ArticleVersion.etag(service.getArticleVersion(id)));
+
+        assertThat(sqlMonitor.slowest(20)).extracting(SqlQueryStats::sql)
+                .contains("update articles ae1_0 set title=?,excerpt=?,publish_date=?,version=(ae1_0.version+?) " +
+                        "where ae1_0.id=? and ae1_0.version=?");
+    }
+
+    @Test
+    void largeArticle_IsStoredCompressedAndOnlyReadWhenTheArticleIsServed() throws Exception {
+
+        String content = "A long article about java and its garbage collectors. ".repeat(1000);
+        Long id = service.saveArticle(new ArticleCreateRequest("Long read", content,
+                List.of(new TagEntity(null, "java"), new TagEntity(null, "jpa")))).id();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT OCTET_LENGTH(compressed_content) FROM article_bodies WHERE article_id = ?", Integer.class, id))
+                .isLessThan(content.length() / 10);
+
+        // the entity alone leaves its body unloaded until the content is asked for
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            ArticleEntity article = entityManager.find(ArticleEntity.class, id);
+            assertThat(Hibernate.isInitialized(article.getBody())).isFalse();
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(article.getContent()).isEqualTo(content);
+        });
+
+        sqlMonitor.reset();
+        perform(2, get("/v1/articles/summaries").param("excerpt", "500"))
+                .andExpect(jsonPath("$._embedded.articleSummaryList[?(@.id == " + id + ")].excerpt").value(content.substring(0, 500)));
+        assertThat(sqlMonitor.slowest(20)).extracting(SqlQueryStats::sql)
+                .noneMatch(sql -> sql.contains("article_bodies"));
+
+        perform(1, get("/v1/articles/{id}", id))
+                .andExpect(jsonPath("$.content").value(content));
+        service.deleteArticle(id, null);
+    }
+
+    @Test
+    void deleteArticle_WithStaleIfMatch_KeepsTheArticle() throws Exception {
+
+        Long id = service.saveArticle(new ArticleCreateRequest("Doomed", "Content",
+                List.of(new TagEntity(null, "java")))).id();
+        Long version = service.getArticleVersion(id);
+
+        mockMvc.perform(delete("/v1/articles/{id}", id).header(HttpHeaders.IF_MATCH, ArticleVersion.etag(version + 1)))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(service.getArticleVersion(id)).isEqualTo(version);
+
+        mockMvc.perform(delete("/v1/articles/{id}", id).header(HttpHeaders.IF_MATCH, ArticleVersion.etag(version)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/v1/articles/{id}", id).header(HttpHeaders.IF_MATCH, ArticleVersion.etag(version)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteArticle_RemovesArticleAndTagLinksWithoutLoadingThem() throws Exception {
+
+        Long id = service.saveArticle(new ArticleCreateRequest("Spam", "Spam content",
+                List.of(new TagEntity(null, "java"), new TagEntity(null, "spring")))).id();
+        sqlMonitor.reset();
+
+        perform(2, delete("/v1/articles/{id}", id))
+                .andExpect(status().isNoContent());
+
+        assertThat(sqlMonitor.slowest(10)).extracting(SqlQueryStats::sql)
+                .noneMatch(sql -> sql.startsWith("select"));
+        assertThat(service.getArticleVersions()).extracting(ArticleVersion::id).doesNotContain(id);
+    }
+
+    @Test
+    void bulkDeleteArticles_DeletesAPublishDateRangeInSetBasedStatements() throws Exception {
+
+        LocalDate spamDate = LocalDate.of(2001, 1, 1);
+        List<Long> spam = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long id = service.saveArticle(new ArticleCreateRequest("Spam " + i, "Spam content",
+                    List.of(new TagEntity(null, "java")))).id();
+            spam.add(id);
+        }
+        jdbcTemplate.update("UPDATE articles SET publish_date = ? WHERE id IN (?, ?, ?)",
+                spamDate, spam.get(0), spam.get(1), spam.get(2));
+
+        // one id lookup and the two deletes for the chunk, then the lookup that finds the range empty
+        perform(4, post("/v1/articles/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"from\": \"2000-12-31\", \"to\": \"2001-01-02\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+
+        assertThat(service.getArticleVersions()).extracting(ArticleVersion::id).doesNotContainAnyElementsOf(spam);
+        assertThat(service.getArticleVersions()).hasSizeGreaterThanOrEqualTo(ARTICLES);
+    }
+
+    private ResultActions perform(long expectedStatements, MockHttpServletRequestBuilder request) throws Exception {
+
+        statistics.clear();
+        ResultActions result = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON));
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements for %s", result.andReturn().getRequest().getRequestURI())
+                .isEqualTo(expectedStatements);
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package blog.article.controllers;
+
+import blog.article.feed.ArticleFeed;
+import blog.article.feed.FeedFormat;
+import blog.article.feed.RenderedFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FeedController.class)
+public class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ArticleFeed feed;
+
+    private final RenderedFeed rendered = new RenderedFeed("<rss version=\"2.0\"/>".getBytes(StandardCharsets.UTF_8),
+            "\"abc\"", Instant.parse("2024-03-10T12:00:00Z"));
+
+    // JUnit test for GET RSS feed REST API
+    @Test
+    void givenFeed_whenGetRssFeed_thenReturnRenderedBodyWithValidators() throws Exception {
+
+        // given - precondition or setup
+        given(feed.render(FeedFormat.RSS)).willReturn(rendered);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/feed.rss"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_RSS_XML))
+                .andExpect(content().bytes(rendered.body()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Sun, 10 Mar 2024 12:00:00 GMT"));
+    }
+
+    // JUnit test for GET Atom feed REST API
+    @Test
+    void givenUnchangedFeed_whenGetAtomFeedWithValidators_thenReturnNotModified() throws Exception {
+
+        // given - precondition or setup
+        given(feed.render(FeedFormat.ATOM)).willReturn(rendered);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions byEtag = mockMvc.perform(get("/v1/feed.atom").header(HttpHeaders.IF_NONE_MATCH, "\"abc\""));
+        ResultActions byDate = mockMvc.perform(get("/v1/feed.atom")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "Sun, 10 Mar 2024 12:00:00 GMT"));
+
+        // then - verify the output
+        byEtag.andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        byDate.andExpect(status().isNotModified());
+    }
+}
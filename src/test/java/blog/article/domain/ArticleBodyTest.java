@@ -0,0 +1,52 @@
+package blog.article.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleBodyTest {
+
+    @Test
+    void test_Short_Content_Is_Stored_As_Text() {
+
+        ArticleEntity article = ArticleEntity.builder().content("Short content").build();
+
+        assertThat(article.getBody().isCompressed()).isFalse();
+        assertThat(article.getContent()).isEqualTo("Short content");
+        assertThat(article.getExcerpt()).isEqualTo("Short content");
+    }
+
+    @Test
+    void test_Long_Content_Is_Compressed_And_Read_Back() {
+
+        String content = "Paragraph about java, with some unicode: éè 😀. ".repeat(500);
+        ArticleEntity article = ArticleEntity.builder().content(content).build();
+
+        assertThat(article.getBody().isCompressed()).isTrue();
+        assertThat(article.getContent()).isEqualTo(content);
+    }
+
+    @Test
+    void test_Rewriting_The_Content_Switches_The_Storage() {
+
+        ArticleEntity article = ArticleEntity.builder().content("x".repeat(ArticleBody.COMPRESSION_THRESHOLD)).build();
+        assertThat(article.getBody().isCompressed()).isTrue();
+
+        article.setContent("Now short");
+
+        assertThat(article.getBody().isCompressed()).isFalse();
+        assertThat(article.getContent()).isEqualTo("Now short");
+        assertThat(article.getExcerpt()).isEqualTo("Now short");
+    }
+
+    @Test
+    void test_Excerpt_Counts_Code_Points() {
+
+        String content = "😀".repeat(ArticleEntity.EXCERPT_LENGTH + 1);
+
+        String excerpt = ArticleEntity.excerptOf(content);
+
+        assertThat(excerpt.codePointCount(0, excerpt.length())).isEqualTo(ArticleEntity.EXCERPT_LENGTH);
+        assertThat(ArticleEntity.excerptOf(null)).isNull();
+    }
+}
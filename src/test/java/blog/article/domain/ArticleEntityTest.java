@@ -2,11 +2,15 @@ package blog.article.domain;
 
 import blog.TestData;
 import blog.article.repositories.ArticleRepository;
+import blog.tag.domain.TagEntity;
+import blog.tag.repositories.TagRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -16,11 +20,16 @@ public class ArticleEntityTest {
     @Autowired
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private TagRepository tagRepository;
+
     @Test
     void testCreateArticle() {
 
         // given
+        TagEntity tag = tagRepository.save(TagEntity.builder().name("tag name").build());
         ArticleEntity article = TestData.testArticleEntity();
+        article.setTags(Set.of(tag));
 
         // when
         ArticleEntity savedArticle = articleRepository.save(article);
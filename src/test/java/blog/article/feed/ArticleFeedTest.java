@@ -0,0 +1,128 @@
+package blog.article.feed;
+
+import blog.article.domain.ArticleEntity;
+import blog.article.domain.ArticleResponse;
+import blog.article.repositories.ArticleRepository;
+import blog.tag.domain.TagEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleFeedTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private ArticleFeed underTest;
+
+    @BeforeEach
+    void setUp() {
+
+        underTest = new ArticleFeed(articleRepository,
+                new ArticleFeedProperties(2, "https://blog.example/", "Test Blog"));
+        when(articleRepository.findNewestIds(any(Pageable.class))).thenReturn(List.of(3L, 2L));
+        when(articleRepository.findAllById(List.of(3L, 2L)))
+                .thenReturn(List.of(entity(2L, "Second", TODAY.minusDays(1)), entity(3L, "Third", TODAY)));
+    }
+
+    @Test
+    void test_Feed_Is_Rendered_Once_And_Shared_By_Polls() {
+
+        // when
+        RenderedFeed first = underTest.render(FeedFormat.ATOM);
+        RenderedFeed second = underTest.render(FeedFormat.ATOM);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(body(first))
+                .contains("<feed xmlns=\"http://www.w3.org/2005/Atom\">")
+                .contains("<id>https://blog.example/v1/articles/3</id>")
+                .containsSubsequence("<title>Third</title>", "<title>Second</title>")
+                .contains("<category term=\"java\"");
+        verify(articleRepository, times(1)).findNewestIds(any());
+    }
+
+    @Test
+    void test_Saving_An_Article_Older_Than_The_Window_Keeps_The_Feed() {
+
+        // given
+        RenderedFeed rendered = underTest.render(FeedFormat.RSS);
+
+        // when
+        underTest.put(response(1L, "First", TODAY.minusDays(5)));
+
+        // then
+        assertThat(underTest.render(FeedFormat.RSS)).isSameAs(rendered);
+    }
+
+    @Test
+    void test_Saving_An_Article_Inside_The_Window_Renders_Again_Without_Loading() {
+
+        // given
+        RenderedFeed rendered = underTest.render(FeedFormat.RSS);
+
+        // when
+        underTest.put(response(4L, "Fourth <new>", TODAY));
+
+        // then
+        RenderedFeed updated = underTest.render(FeedFormat.RSS);
+        assertThat(updated.etag()).isNotEqualTo(rendered.etag());
+        assertThat(body(updated))
+                .containsSubsequence("<title>Fourth &lt;new&gt;</title>", "<title>Third</title>")
+                .doesNotContain("<title>Second</title>");
+        verify(articleRepository, times(1)).findNewestIds(any());
+    }
+
+    @Test
+    void test_Deleting_From_A_Full_Window_Loads_It_Again() {
+
+        // given
+        underTest.render(FeedFormat.ATOM);
+
+        // when
+        underTest.remove(3L);
+        when(articleRepository.findNewestIds(any(Pageable.class))).thenReturn(List.of(2L, 1L));
+        when(articleRepository.findAllById(List.of(2L, 1L)))
+                .thenReturn(List.of(entity(2L, "Second", TODAY.minusDays(1)), entity(1L, "First", TODAY.minusDays(5))));
+
+        // then
+        assertThat(body(underTest.render(FeedFormat.ATOM)))
+                .containsSubsequence("<title>Second</title>", "<title>First</title>")
+                .doesNotContain("<title>Third</title>");
+        verify(articleRepository, times(2)).findNewestIds(any());
+    }
+
+    private static String body(RenderedFeed feed) {
+        return new String(feed.body(), StandardCharsets.UTF_8);
+    }
+
+    private static ArticleResponse response(Long id, String title, LocalDate publishDate) {
+        return new ArticleResponse(entity(id, title, publishDate));
+    }
+
+    private static ArticleEntity entity(Long id, String title, LocalDate publishDate) {
+
+        return ArticleEntity.builder()
+                .id(id)
+                .title(title)
+                .content("Content of " + title)
+                .tags(new LinkedHashSet<>(List.of(new TagEntity(1L, "java"))))
+                .publishDate(publishDate)
+                .build();
+    }
+}
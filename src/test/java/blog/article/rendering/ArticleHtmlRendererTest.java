@@ -0,0 +1,54 @@
+package blog.article.rendering;
+
+import blog.CacheConfig;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArticleHtmlRendererTest {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+    private final ArticleHtmlRenderer underTest;
+
+    ArticleHtmlRendererTest() {
+        new CacheConfig().articleHtmlCacheCustomizer().customize(cacheManager);
+        underTest = new ArticleHtmlRenderer(cacheManager);
+    }
+
+    @Test
+    void test_Markdown_Is_Rendered_To_Html() {
+
+        assertThat(underTest.html("# Title\n\nSome *emphasis* and a [link](https://example.com)."))
+                .isEqualTo("<h1>Title</h1>\n<p>Some <em>emphasis</em> and a <a rel=\"nofollow\" href=\"https://example.com\">link</a>.</p>\n");
+    }
+
+    @Test
+    void test_Raw_Html_And_Script_Links_Are_Neutralised() {
+
+        assertThat(underTest.html("<script>alert(1)</script>\n\n[x](javascript:alert(1))"))
+                .doesNotContain("<script>")
+                .contains("&lt;script&gt;")
+                .doesNotContain("javascript:");
+    }
+
+    @Test
+    void test_Prerendered_Content_Is_Served_From_Cache_Until_It_Changes() {
+
+        // given
+        underTest.prerender("first version");
+
+        // when
+        String html = underTest.html("first version");
+        underTest.html("second version");
+
+        // then
+        assertThat(html).isEqualTo("<p>first version</p>\n");
+        CacheStats stats = ((CaffeineCache) cacheManager.getCache(CacheConfig.ARTICLE_HTML_CACHE)).getNativeCache().stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(2);
+    }
+}
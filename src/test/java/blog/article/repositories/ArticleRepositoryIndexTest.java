@@ -0,0 +1,68 @@
+package blog.article.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations on H2 in PostgreSQL mode and checks the plans of the article lookups.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class ArticleRepositoryIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void test_Articles_By_Publish_Date_Use_Index() {
+
+        assertThat(explain("SELECT a.id FROM articles a WHERE a.publish_date = DATE '2024-01-01'"))
+                .contains("idx_articles_publish_date_id");
+    }
+
+    @Test
+    void test_Articles_By_Tag_Name_Use_Indexes() {
+
+        assertThat(explain("SELECT a.id FROM articles a WHERE a.id IN (SELECT at.article_id FROM article_tags at " +
+                "JOIN tags t ON t.id = at.tag_id WHERE t.name = 'java')"))
+                .contains("uk_tags_name")
+                .contains("idx_article_tags_tag_id");
+    }
+
+    @Test
+    void test_Tags_Of_Articles_Use_Index() {
+
+        // H2 indexes foreign keys by itself and may pick that index, Postgres does not
+        assertThat(explain("SELECT at.tag_id FROM article_tags at WHERE at.article_id IN (1, 2, 3)"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void test_Newest_Articles_Page_Uses_Index() {
+
+        assertThat(explain("SELECT a.id FROM articles a ORDER BY a.publish_date DESC, a.id DESC " +
+                "FETCH FIRST 21 ROWS ONLY"))
+                .contains("idx_articles_publish_date_id");
+    }
+
+    @Test
+    void test_Publish_Date_Range_Page_Uses_Index() {
+
+        assertThat(explain("SELECT a.id FROM articles a " +
+                "WHERE a.publish_date BETWEEN DATE '2024-01-01' AND DATE '2024-01-31' " +
+                "ORDER BY a.publish_date DESC, a.id DESC FETCH FIRST 21 ROWS ONLY"))
+                .contains("idx_articles_publish_date_id");
+    }
+
+    private String explain(String sql) {
+
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
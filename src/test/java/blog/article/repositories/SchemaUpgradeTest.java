@@ -0,0 +1,124 @@
+package blog.article.repositories;
+
+import blog.article.domain.ArticleEntity;
+import blog.tag.domain.TagEntity;
+import blog.tag.repositories.TagRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Starts on a database created by Hibernate before the migrations existed, so Flyway baselines it
+ * at V1 and upgrades it, and Hibernate then validates the result.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class SchemaUpgradeTest {
+
+    private static final String URL = "jdbc:h2:mem:baseline;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;" +
+            "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    // generated by ddl-auto=update from the entities of the first release, PostgreSQL dialect
+    private static final String[] BASELINE_SCHEMA = {
+            "create table articles (publish_date date, id bigint generated by default as identity, " +
+                    "content varchar(255), title varchar(255), primary key (id))",
+            "create table articles_tags (articles_id bigint not null, tags_id bigint not null unique)",
+            "create table tags (id bigint generated by default as identity, name varchar(255), primary key (id))",
+            "alter table if exists articles_tags add constraint FKpq6t50xjngelojo3ugfu5wtet " +
+                    "foreign key (tags_id) references tags",
+            "alter table if exists articles_tags add constraint FKj5sxdjmp7ne38aetcxky930at " +
+                    "foreign key (articles_id) references articles"
+    };
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void baselineDatabase(DynamicPropertyRegistry registry) {
+
+        JdbcTemplate baseline = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        baseline.batchUpdate(BASELINE_SCHEMA);
+
+        // every article had its own copy of each tag
+        baseline.batchUpdate(
+                "insert into articles (title, content, publish_date) values ('First', 'Java and Spring', DATE '2024-01-01')",
+                "insert into articles (title, content, publish_date) values ('Second', 'More Java', DATE '2024-01-02')",
+                "insert into tags (name) values ('java')",
+                "insert into tags (name) values ('spring')",
+                "insert into tags (name) values (' java ')",
+                "insert into tags (name) values ('')",
+                "insert into articles_tags (articles_id, tags_id) values (1, 1)",
+                "insert into articles_tags (articles_id, tags_id) values (1, 2)",
+                "insert into articles_tags (articles_id, tags_id) values (2, 3)",
+                "insert into articles_tags (articles_id, tags_id) values (2, 4)");
+
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void test_Upgrade_Merges_Tags_By_Name() {
+
+        assertThat(tagRepository.findAll())
+                .extracting(TagEntity::getId, TagEntity::getName)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, "java"),
+                        tuple(2L, "spring"));
+    }
+
+    @Test
+    void test_Upgrade_Keeps_Tag_Links() {
+
+        List<ArticleEntity> articles = articleRepository.findAll();
+
+        assertThat(articles).hasSize(2);
+        assertThat(articleRepository.findAllByTagsName("java"))
+                .extracting(ArticleEntity::getTitle)
+                .containsExactlyInAnyOrder("First", "Second");
+        assertThat(articleRepository.findAllByTagsName("spring"))
+                .extracting(ArticleEntity::getTitle)
+                .containsExactly("First");
+    }
+
+    @Test
+    void test_Upgrade_Keeps_Article_Contents() {
+
+        assertThat(articleRepository.findAll())
+                .extracting(ArticleEntity::getTitle, ArticleEntity::getContent, ArticleEntity::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple("First", "Java and Spring", 0L),
+                        tuple("Second", "More Java", 0L));
+    }
+
+    @Test
+    void test_Upgrade_Drops_Old_Join_Table() {
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables " +
+                "WHERE table_name = 'articles_tags'", Integer.class)).isZero();
+    }
+
+    @Test
+    void test_New_Ids_Start_After_Existing_Ones() {
+
+        TagEntity tag = tagRepository.saveAndFlush(TagEntity.builder().name("kotlin").build());
+
+        assertThat(tag.getId()).isGreaterThan(2L);
+    }
+}
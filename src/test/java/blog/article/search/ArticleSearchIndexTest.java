@@ -0,0 +1,89 @@
+package blog.article.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArticleSearchIndexTest {
+
+    private final ArticleSearchIndex underTest = new ArticleSearchIndex();
+
+    @Test
+    void test_Search_Ranks_Better_Matches_First() {
+
+        // given
+        underTest.index(1L, "Cooking pasta", "Boil water, add pasta and salt.");
+        underTest.index(2L, "Java performance", "Profiling the JVM: allocation, GC and JIT. Java is fast.");
+        underTest.index(3L, "Travel notes", "We talked about Java the island.");
+
+        // when
+        List<SearchHit> hits = underTest.search("java performance", 10);
+
+        // then
+        assertThat(hits).extracting(SearchHit::articleId).containsExactly(2L, 3L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void test_Reindexing_Replaces_Previous_Document() {
+
+        // given
+        underTest.index(1L, "Old title", "legacy words");
+
+        // when
+        underTest.index(1L, "New title", "fresh words");
+
+        // then
+        assertThat(underTest.search("legacy", 10)).isEmpty();
+        assertThat(underTest.search("fresh", 10)).extracting(SearchHit::articleId).containsExactly(1L);
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    void test_Removed_Documents_Are_Not_Returned_After_Compaction() {
+
+        // given
+        for (long id = 1; id <= 3000; id++) {
+            underTest.index(id, "Post " + id, id % 2 == 0 ? "even content" : "odd content");
+        }
+
+        // when
+        for (long id = 1; id <= 2000; id++) {
+            underTest.remove(id);
+        }
+
+        // then
+        assertThat(underTest.size()).isEqualTo(1000);
+        assertThat(underTest.search("even", 2000)).hasSize(500)
+                .allSatisfy(hit -> assertThat(hit.articleId()).isGreaterThan(2000L));
+        assertThat(underTest.search("post", 1)).hasSize(1);
+    }
+
+    @Test
+    void test_Repeated_Reindexing_Compacts_The_Tombstones() {
+
+        // given
+        underTest.index(2L, "Other post", "stable content");
+
+        // when
+        for (int revision = 0; revision < 10_000; revision++) {
+            underTest.index(1L, "Edited post", "revision " + revision);
+        }
+
+        // then
+        assertThat(underTest.size()).isEqualTo(2);
+        assertThat(underTest.documentSlots()).isLessThanOrEqualTo(2 * 1024 + 2);
+        assertThat(underTest.search("revision", 10)).extracting(SearchHit::articleId).containsExactly(1L);
+        assertThat(underTest.search("9999", 10)).extracting(SearchHit::articleId).containsExactly(1L);
+        assertThat(underTest.search("stable", 10)).extracting(SearchHit::articleId).containsExactly(2L);
+    }
+
+    @Test
+    void test_Tokenizer_Lowercases_And_Splits_On_Punctuation() {
+
+        assertThat(ArticleSearchIndex.tokenize("Hello, World! Spring-Boot 3")).containsExactly("hello", "world", "spring", "boot", "3");
+        assertThat(ArticleSearchIndex.tokenize(null)).isEmpty();
+    }
+}
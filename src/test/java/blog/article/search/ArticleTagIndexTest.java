@@ -0,0 +1,75 @@
+package blog.article.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArticleTagIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    private final ArticleTagIndex underTest = new ArticleTagIndex();
+
+    @BeforeEach
+    void setUp() {
+
+        underTest.index(1L, DAY, List.of("java", "spring"));
+        underTest.index(2L, DAY, List.of("java", "jpa"));
+        underTest.index(3L, DAY, List.of("kotlin", "spring"));
+        underTest.index(4L, DAY, List.of());
+    }
+
+    @Test
+    void test_Boolean_Operators() {
+
+        assertThat(query("java AND spring")).containsExactly(1L);
+        assertThat(query("java OR kotlin")).containsExactly(1L, 2L, 3L);
+        assertThat(query("java NOT spring")).containsExactly(2L);
+        assertThat(query("NOT java")).containsExactly(3L, 4L);
+        assertThat(query("(java OR kotlin) AND NOT jpa")).containsExactly(1L, 3L);
+        assertThat(query("rust")).isEmpty();
+    }
+
+    @Test
+    void test_Query_Result_Does_Not_Change_The_Index() {
+
+        underTest.query(TagExpression.parse("java")).addLong(ArticleTagIndex.sortKey(DAY, 99L));
+
+        assertThat(query("java")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void test_Reindex_Replaces_Tags_And_Remove_Drops_Article() {
+
+        // when
+        underTest.index(1L, DAY, List.of("kotlin"));
+        underTest.remove(3L);
+
+        // then
+        assertThat(query("java")).containsExactly(2L);
+        assertThat(query("kotlin")).containsExactly(1L);
+        assertThat(query("spring")).isEmpty();
+        assertThat(query("NOT jpa")).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void test_Articles_Are_Ordered_By_Publish_Date_Then_Id() {
+
+        // when
+        underTest.index(5L, DAY.minusDays(1), List.of("java"));
+        underTest.index(1L, DAY.plusDays(1), List.of("java"));
+
+        // then
+        assertThat(query("java")).containsExactly(5L, 2L, 1L);
+        assertThat(query("NOT kotlin")).containsExactly(5L, 2L, 4L, 1L);
+    }
+
+    private List<Long> query(String query) {
+
+        return underTest.query(TagExpression.parse(query)).stream().map(ArticleTagIndex::articleId).boxed().toList();
+    }
+}
@@ -0,0 +1,56 @@
+package blog.article.search;
+
+import blog.article.controllers.exceptions.InvalidTagQueryException;
+import blog.article.search.TagExpression.And;
+import blog.article.search.TagExpression.Not;
+import blog.article.search.TagExpression.Or;
+import blog.article.search.TagExpression.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TagExpressionTest {
+
+    @Test
+    void test_And_Binds_Tighter_Than_Or() {
+
+        assertThat(TagExpression.parse("java OR spring AND jpa"))
+                .isEqualTo(new Or(new Tag("java"), new And(new Tag("spring"), new Tag("jpa"))));
+    }
+
+    @Test
+    void test_Adjacent_Terms_Are_And_Ed() {
+
+        assertThat(TagExpression.parse("java NOT spring"))
+                .isEqualTo(new And(new Tag("java"), new Not(new Tag("spring"))));
+        assertThat(TagExpression.parse("java performance"))
+                .isEqualTo(new And(new Tag("java"), new Tag("performance")));
+    }
+
+    @Test
+    void test_Parentheses_And_Quotes() {
+
+        assertThat(TagExpression.parse("(java OR kotlin) AND \"spring boot\""))
+                .isEqualTo(new And(new Or(new Tag("java"), new Tag("kotlin")), new Tag("spring boot")));
+    }
+
+    @Test
+    void test_Lower_Case_Operators_Are_Tag_Names() {
+
+        assertThat(TagExpression.parse("rock and roll"))
+                .isEqualTo(new And(new And(new Tag("rock"), new Tag("and")), new Tag("roll")));
+    }
+
+    @Test
+    void test_Malformed_Queries_Are_Rejected() {
+
+        assertThatThrownBy(() -> TagExpression.parse(" ")).isInstanceOf(InvalidTagQueryException.class);
+        assertThatThrownBy(() -> TagExpression.parse("java AND")).isInstanceOf(InvalidTagQueryException.class);
+        assertThatThrownBy(() -> TagExpression.parse("(java OR spring")).isInstanceOf(InvalidTagQueryException.class);
+        assertThatThrownBy(() -> TagExpression.parse("java)")).isInstanceOf(InvalidTagQueryException.class);
+        assertThatThrownBy(() -> TagExpression.parse("\"spring")).isInstanceOf(InvalidTagQueryException.class);
+        assertThatThrownBy(() -> TagExpression.parse("a ".repeat(TagQueryParser.MAX_QUERY_LENGTH)))
+                .isInstanceOf(InvalidTagQueryException.class);
+    }
+}
@@ -0,0 +1,109 @@
+package blog.article.services.impl;
+
+import blog.CacheConfig;
+import blog.article.archive.ArticleArchive;
+import blog.article.domain.ArticleUpdateRequest;
+import blog.article.rendering.ArticleHtmlRenderer;
+import blog.article.repositories.ArticleRepository;
+import blog.article.search.ArticleSearchIndex;
+import blog.article.search.ArticleTagIndex;
+import blog.article.services.ArticleService;
+import blog.article.views.ArticleViewCounter;
+import blog.article.views.ArticleViews;
+import blog.tag.services.TagDictionary;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static blog.TestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {ArticleServiceImpl.class, CacheConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+public class ArticleServiceCachingTest {
+
+    @Autowired
+    private ArticleService underTest;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private ArticleRepository articleRepository;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private TagDictionary tagDictionary;
+
+    @MockBean
+    private ArticleSearchIndex searchIndex;
+
+    @MockBean
+    private ArticleTagIndex tagIndex;
+
+    @MockBean
+    private ArticleArchive archive;
+
+    @MockBean
+    private ArticleViewCounter viewCounter;
+
+    @MockBean
+    private ArticleViews views;
+
+    @MockBean
+    private ArticleHtmlRenderer htmlRenderer;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void test_Repeated_Reads_Are_Served_From_Cache() {
+
+        // given
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticleEntity()));
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.ARTICLES_CACHE);
+        long hitsBefore = cache.getNativeCache().stats().hitCount();
+
+        // when
+        underTest.getArticleById(1L);
+        underTest.getArticleById(1L);
+
+        // then
+        verify(articleRepository, times(1)).findById(1L);
+        assertThat(cache.getNativeCache().stats().hitCount() - hitsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void test_Update_And_Delete_Evict_Only_The_Written_Article() {
+
+        // given
+        when(articleRepository.findById(any())).thenReturn(Optional.of(testArticleEntity()));
+        when(articleRepository.updateContent(any(), any(), any(), any())).thenReturn(1);
+        underTest.getArticleById(2L);
+        underTest.getArticleById(3L);
+        underTest.getArticleById(4L);
+
+        // when
+        underTest.updateArticle(2L, new ArticleUpdateRequest("title", "content", null), null);
+        underTest.deleteArticle(3L, null);
+
+        // then
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.ARTICLES_CACHE);
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(3L)).isNull();
+        assertThat(cache.get(4L)).isNotNull();
+    }
+}
@@ -1,19 +1,44 @@
 package blog.article.services.impl;
 
+import blog.TestData;
+import blog.article.archive.ArchiveMonth;
+import blog.article.archive.ArticleArchive;
 import blog.article.controllers.exceptions.ArticleNotFoundException;
+import blog.article.controllers.exceptions.ArticleVersionMismatchException;
+import blog.article.controllers.exceptions.InvalidCursorException;
 import blog.article.domain.*;
+import blog.article.events.ArticleDeletedEvent;
+import blog.article.events.ArticleSavedEvent;
+import blog.article.rendering.ArticleHtmlRenderer;
 import blog.article.repositories.ArticleRepository;
+import blog.article.search.ArticleSearchIndex;
+import blog.article.search.ArticleTagIndex;
+import blog.article.search.SearchHit;
+import blog.article.search.TagExpression;
+import blog.article.views.ArticleViewCount;
+import blog.article.views.ArticleViewCounter;
+import blog.article.views.ArticleViews;
+import blog.tag.domain.TagEntity;
+import blog.tag.services.TagDictionary;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static blog.TestData.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +52,36 @@ public class ArticleServiceImplTest {
     @Mock
     private ArticleRepository articleRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TagDictionary tagDictionary;
+
+    @Mock
+    private ArticleSearchIndex searchIndex;
+
+    @Mock
+    private ArticleTagIndex tagIndex;
+
+    @Mock
+    private ArticleArchive archive;
+
+    @Mock
+    private ArticleViewCounter viewCounter;
+
+    @Mock
+    private ArticleViews views;
+
+    @Mock
+    private ArticleHtmlRenderer htmlRenderer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ArticleServiceImpl underTest;
 
@@ -41,12 +96,62 @@ public class ArticleServiceImplTest {
         final ArticleResponse expectedResponse = new ArticleResponse(articleEntity);
 
         // when - action or behaviour that we are going test
+        when(tagDictionary.resolve(article.tags())).thenReturn(new ArrayList<>(article.tags()));
         when(articleRepository.save(any(ArticleEntity.class))).thenReturn(articleEntity);
 
         final ArticleResponse result = underTest.saveArticle(article);
 
         // then - verify the result or output using assert statements
         assertEquals(expectedResponse, result);
+        verify(eventPublisher).publishEvent(new ArticleSavedEvent(result));
+    }
+
+    @Test
+    void test_Import_Persists_Articles_In_Chunks() {
+
+        // given - precondition or setup
+        final int total = ArticleServiceImpl.IMPORT_CHUNK_SIZE + 3;
+        final AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            invocation.<ArticleEntity>getArgument(0).setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(ArticleEntity.class));
+
+        // when - action or behaviour that we are going test
+        final List<ArticleImportResult> results = underTest.importArticles(
+                Stream.generate(TestData::testArticleRequestDTO).limit(total).iterator());
+
+        // then - verify the result or output using assert statements
+        assertEquals(total, results.size());
+        assertEquals(ArticleImportResult.created(total - 1, (long) total), results.get(total - 1));
+        verify(entityManager, times(2)).flush();
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void test_Import_Reports_Failing_Article_And_Keeps_The_Rest() {
+
+        // given - precondition or setup
+        final ArticleCreateRequest bad = new ArticleCreateRequest("bad", "content", List.of());
+        final AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            ArticleEntity entity = invocation.getArgument(0);
+            if (entity.getTitle().equals("bad")) {
+                throw new IllegalStateException("value too long");
+            }
+            entity.setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(ArticleEntity.class));
+
+        // when - action or behaviour that we are going test
+        final List<ArticleImportResult> results = underTest.importArticles(
+                List.of(testArticleRequestDTO(), bad, testArticleRequestDTO()).iterator());
+
+        // then - verify the result or output using assert statements
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).id());
+        assertEquals(ArticleImportResult.failed(1, "value too long"), results.get(1));
+        assertNotNull(results.get(2).id());
     }
 
     @Test
@@ -76,6 +181,204 @@ public class ArticleServiceImplTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    void test_First_Page_Returns_Next_Cursor_When_More_Articles_Exist() {
+
+        // given - precondition or setup
+        final ArticleEntity newest = testArticleEntity();
+        final ArticleEntity older = testArticleEntity();
+        older.setId(2L);
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findNewest(any(Pageable.class))).thenReturn(List.of(newest, older));
+
+        final ArticlePage result = underTest.getArticlesPage(null, 1);
+
+        // then - verify the result or output using assert statements
+        assertEquals(1, result.articles().size());
+        assertEquals(ArticleCursor.next(newest), ArticleCursor.decode(result.nextCursor()));
+        assertNull(result.previousCursor());
+    }
+
+    @Test
+    void test_Previous_Cursor_Seeks_Newer_Articles_And_Keeps_Newest_First_Order() {
+
+        // given - precondition or setup
+        final ArticleEntity first = testArticleEntity();
+        final ArticleEntity second = testArticleEntity();
+        second.setId(2L);
+        final String cursor = new ArticleCursor(ArticleCursor.Direction.PREVIOUS, LocalDate.now(), 3L).encode();
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findNewerThan(eq(LocalDate.now()), eq(3L), any(Pageable.class)))
+                .thenReturn(List.of(second, first));
+
+        final ArticlePage result = underTest.getArticlesPage(cursor, 2);
+
+        // then - verify the result or output using assert statements
+        assertEquals(List.of(1L, 2L), result.articles().stream().map(ArticleResponse::id).toList());
+        assertEquals(ArticleCursor.next(second), ArticleCursor.decode(result.nextCursor()));
+        assertNull(result.previousCursor());
+    }
+
+    @Test
+    void test_Page_Size_Is_Bounded() {
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findNewest(any(Pageable.class))).thenReturn(List.of());
+
+        underTest.getArticlesPage(null, 10_000);
+
+        // then - verify the result or output using assert statements
+        verify(articleRepository).findNewest(PageRequest.ofSize(ArticleServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void test_Date_Range_Page_Seeks_Within_The_Range() {
+
+        // given - precondition or setup
+        final LocalDate from = LocalDate.of(2024, 1, 1);
+        final LocalDate to = LocalDate.of(2024, 1, 31);
+        final ArticleEntity older = testArticleEntity();
+        older.setPublishDate(LocalDate.of(2024, 1, 5));
+        final String cursor = new ArticleCursor(ArticleCursor.Direction.NEXT, LocalDate.of(2024, 1, 20), 9L).encode();
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findOlderThanBetween(from, to, LocalDate.of(2024, 1, 20), 9L, PageRequest.ofSize(3)))
+                .thenReturn(List.of(older));
+
+        final ArticlePage result = underTest.getArticlesPageByDateRange(from, to, cursor, 2);
+
+        // then - verify the result or output using assert statements
+        assertEquals(List.of(1L), result.articles().stream().map(ArticleResponse::id).toList());
+        assertNull(result.nextCursor());
+        assertEquals(ArticleCursor.previous(older), ArticleCursor.decode(result.previousCursor()));
+        verify(articleRepository, never()).findOlderThan(any(), any(), any());
+    }
+
+    @Test
+    void test_Tag_Query_Hydrates_Only_The_Page_Newest_First() {
+
+        // given - precondition or setup
+        final ArticleEntity updated = tagged(2L, LocalDate.of(2024, 3, 1));
+        final ArticleEntity newer = tagged(9L, LocalDate.of(2024, 2, 1));
+        final ArticleEntity older = tagged(7L, LocalDate.of(2024, 1, 1));
+        final ArticleEntity oldest = tagged(5L, LocalDate.of(2024, 1, 1));
+
+        // when - action or behaviour that we are going test
+        when(tagIndex.query(TagExpression.parse("java NOT spring")))
+                .thenReturn(keys(updated, newer, older, oldest));
+        when(articleRepository.findAllById(List.of(7L, 5L))).thenReturn(List.of(oldest, older));
+
+        final ArticlePage result = underTest.getArticlesByTagQuery("java NOT spring",
+                ArticleCursor.next(newer).encode(), 2);
+
+        // then - verify the result or output using assert statements
+        assertEquals(List.of(7L, 5L), result.articles().stream().map(ArticleResponse::id).toList());
+        assertNull(result.nextCursor());
+        assertEquals(ArticleCursor.previous(older), ArticleCursor.decode(result.previousCursor()));
+    }
+
+    @Test
+    void test_Tag_Query_Pages_Back_To_Newer_Articles() {
+
+        // given - precondition or setup
+        final ArticleEntity updated = tagged(2L, LocalDate.of(2024, 3, 1));
+        final ArticleEntity newer = tagged(9L, LocalDate.of(2024, 2, 1));
+        final ArticleEntity older = tagged(7L, LocalDate.of(2024, 1, 1));
+
+        // when - action or behaviour that we are going test
+        when(tagIndex.query(TagExpression.parse("java"))).thenReturn(keys(updated, newer, older));
+        when(articleRepository.findAllById(List.of(9L))).thenReturn(List.of(newer));
+
+        final ArticlePage result = underTest.getArticlesByTagQuery("java", ArticleCursor.previous(older).encode(), 1);
+
+        // then - verify the result or output using assert statements
+        assertEquals(List.of(9L), result.articles().stream().map(ArticleResponse::id).toList());
+        assertEquals(ArticleCursor.next(newer), ArticleCursor.decode(result.nextCursor()));
+        assertEquals(ArticleCursor.previous(newer), ArticleCursor.decode(result.previousCursor()));
+    }
+
+    @Test
+    void test_Tag_Query_Rejects_Raw_Id_Cursor() {
+
+        // when - action or behaviour that we are going test
+        when(tagIndex.query(any())).thenReturn(Roaring64Bitmap.bitmapOf(ArticleTagIndex.sortKey(LocalDate.now(), 1L)));
+
+        // then - verify the result or output using assert statements
+        assertThrows(InvalidCursorException.class, () -> underTest.getArticlesByTagQuery("java", "9", 2));
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void test_Tag_Query_Without_Matches_Does_Not_Query_Articles() {
+
+        // when - action or behaviour that we are going test
+        when(tagIndex.query(any())).thenReturn(new Roaring64Bitmap());
+
+        final ArticlePage result = underTest.getArticlesByTagQuery("kotlin", null, 20);
+
+        // then - verify the result or output using assert statements
+        assertTrue(result.articles().isEmpty());
+        assertNull(result.nextCursor());
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void test_Archive_Is_Served_From_The_Aggregate() {
+
+        // when - action or behaviour that we are going test
+        when(archive.months()).thenReturn(List.of(new ArchiveMonth(2024, 1, 2)));
+
+        // then - verify the result or output using assert statements
+        assertEquals(List.of(new ArchiveMonth(2024, 1, 2)), underTest.getArchive());
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void test_Most_Viewed_Ranks_From_Memory_And_Loads_Only_Titles() {
+
+        // given - precondition or setup
+        final List<ArticleViewCount> mostViewed = List.of(new ArticleViewCount(3L, 40), new ArticleViewCount(1L, 25),
+                new ArticleViewCount(2L, 7));
+
+        // when - action or behaviour that we are going test
+        when(views.mostViewed(3)).thenReturn(mostViewed);
+        when(articleRepository.findTitlesByIdIn(List.of(3L, 1L, 2L)))
+                .thenReturn(List.of(new ArticleTitle(1L, "First"), new ArticleTitle(3L, "Third")));
+
+        final List<MostViewedArticle> result = underTest.getMostViewed(3);
+
+        // then - verify the result or output using assert statements
+        assertEquals(List.of(new MostViewedArticle(3L, "Third", 40), new MostViewedArticle(1L, "First", 25)), result);
+    }
+
+    @Test
+    void test_Malformed_Cursor_Throws_Exception() {
+
+        // then - verify the result or output using assert statements
+        assertThrows(InvalidCursorException.class, () -> underTest.getArticlesPage("not-a-cursor", 10));
+    }
+
+    @Test
+    void test_Export_Streams_Every_Article_And_Clears_Persistence_Context() {
+
+        // given - precondition or setup
+        final List<ArticleEntity> rows = Stream.generate(TestData::testArticleEntity)
+                .limit(ArticleRepository.EXPORT_FETCH_SIZE + 1)
+                .toList();
+        final List<ArticleResponse> exported = new ArrayList<>();
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.streamAll()).thenReturn(rows.stream());
+
+        underTest.exportArticles(exported::add);
+
+        // then - verify the result or output using assert statements
+        assertEquals(rows.size(), exported.size());
+        verify(entityManager, times(1)).clear();
+    }
+
     @Test
     void test_That_Find_By_Id_Returns_Article_When_Exists() {
 
@@ -93,6 +396,22 @@ public class ArticleServiceImplTest {
         assertEquals(article, result);
     }
 
+    @Test
+    void test_Render_Html_Replaces_Only_The_Content() {
+
+        // given - precondition or setup
+        final ArticleResponse article = testArticleResponseDTO();
+
+        // when - action or behaviour that we are going test
+        when(htmlRenderer.html(article.content())).thenReturn("<p>Content of article</p>\n");
+
+        final ArticleResponse result = underTest.renderHtml(article);
+
+        // then - verify the result or output using assert statements
+        assertEquals(article.withContent("<p>Content of article</p>\n"), result);
+        verifyNoInteractions(articleRepository);
+    }
+
     @Test
     void test_That_Find_By_Id_Throws_Exception_When_No_Article() {
 
@@ -106,6 +425,16 @@ public class ArticleServiceImplTest {
         assertThrows(ArticleNotFoundException.class, () -> underTest.getArticleById(id));
     }
 
+    @Test
+    void test_That_Article_Version_Throws_Exception_When_No_Article() {
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        // then - verify the result or output using assert statements
+        assertThrows(ArticleNotFoundException.class, () -> underTest.getArticleVersion(1L));
+    }
+
     @Test
     void test_That_Article_Is_Updated() {
 
@@ -113,16 +442,125 @@ public class ArticleServiceImplTest {
         final Long id = 1L;
         final ArticleUpdateRequest updatedArticle = testArticleUpdateDTO();
         final ArticleEntity articleEntity = new ArticleEntity(updatedArticle);
+        articleEntity.setId(id);
         final ArticleResponse expectedResponse = new ArticleResponse(articleEntity);
 
         // when - action or behaviour that we are going test
-        when(articleRepository.save(any(ArticleEntity.class))).thenReturn(articleEntity);
+        when(articleRepository.updateContent(eq(id), eq(updatedArticle.title()), eq(updatedArticle.content()),
+                any(LocalDate.class))).thenReturn(1);
+        when(articleRepository.findById(id)).thenReturn(Optional.of(articleEntity));
+        when(tagDictionary.resolve(updatedArticle.tags())).thenReturn(new ArrayList<>(updatedArticle.tags()));
 
-        final ArticleResponse result = underTest.updateArticle(id, updatedArticle);
+        final ArticleResponse result = underTest.updateArticle(id, updatedArticle, null);
 
         // then - verify the result or output using assert statements
         assertNotNull(result);
         assertEquals(expectedResponse, result);
+        verify(articleRepository).flush();
+        verify(articleRepository, never()).save(any(ArticleEntity.class));
+        verify(eventPublisher).publishEvent(any(ArticleSavedEvent.class));
+    }
+
+    @Test
+    void test_Update_With_Expected_Version_Checks_It_In_The_Update_Statement() {
+
+        // given - precondition or setup
+        final Long id = 1L;
+        final ArticleUpdateRequest updatedArticle = testArticleUpdateDTO();
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.updateContentIfVersion(eq(id), eq(2L), eq(updatedArticle.title()),
+                eq(updatedArticle.content()), any(LocalDate.class))).thenReturn(1);
+        when(articleRepository.findById(id)).thenReturn(Optional.of(testArticleEntity()));
+
+        underTest.updateArticle(id, updatedArticle, 2L);
+
+        // then - verify the result or output using assert statements
+        verify(articleRepository, never()).updateContent(any(), any(), any(), any());
+        verify(articleRepository, never()).existsById(any());
+    }
+
+    @Test
+    void test_Update_With_Stale_Version_Throws_Version_Mismatch() {
+
+        // given - precondition or setup
+        final Long id = 1L;
+        final ArticleUpdateRequest updatedArticle = testArticleUpdateDTO();
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.updateContentIfVersion(eq(id), eq(1L), any(), any(), any())).thenReturn(0);
+        when(articleRepository.existsById(id)).thenReturn(true);
+
+        // then - verify the result or output using assert statements
+        assertThrows(ArticleVersionMismatchException.class, () -> underTest.updateArticle(id, updatedArticle, 1L));
+        verify(articleRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void test_Patch_Changes_Only_Given_Fields_And_Keeps_Publish_Date() {
+
+        // given - precondition or setup
+        final Long id = 1L;
+        final ArticleEntity articleEntity = testArticleEntity();
+        articleEntity.setPublishDate(LocalDate.of(2024, 1, 1));
+        final ArticlePatch patch = new ArticlePatch(Optional.of("New title"), null, null);
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findById(id)).thenReturn(Optional.of(articleEntity));
+
+        final ArticleResponse result = underTest.patchArticle(id, patch, null);
+
+        // then - verify the result or output using assert statements
+        assertEquals("New title", result.title());
+        assertEquals("Content of article", result.content());
+        assertEquals(LocalDate.of(2024, 1, 1), result.publishDate());
+        assertEquals(List.of(testTagEntity()), result.tags());
+        verifyNoInteractions(tagDictionary);
+        verify(articleRepository).flush();
+        verify(eventPublisher).publishEvent(any(ArticleSavedEvent.class));
+    }
+
+    @Test
+    void test_Patch_Diffs_Tags_In_Place() {
+
+        // given - precondition or setup
+        final Long id = 1L;
+        final ArticleEntity articleEntity = testArticleEntity();
+        final Set<TagEntity> loadedTags = articleEntity.getTags();
+        final TagEntity kept = loadedTags.iterator().next();
+        final TagEntity added = new TagEntity(2L, "java");
+        final ArticlePatch patch = new ArticlePatch(null, null,
+                Optional.of(List.of(new TagEntity(null, kept.getName()), new TagEntity(null, "java"))));
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findById(id)).thenReturn(Optional.of(articleEntity));
+        when(tagDictionary.resolve(patch.getTags().get())).thenReturn(List.of(new TagEntity(1L, kept.getName()), added));
+
+        underTest.patchArticle(id, patch, null);
+
+        // then - verify the result or output using assert statements
+        assertSame(loadedTags, articleEntity.getTags());
+        assertSame(kept, articleEntity.getTags().iterator().next());
+        assertEquals(Set.of(kept, added), articleEntity.getTags());
+    }
+
+    @Test
+    void test_Patch_With_Stale_Version_Throws_Version_Mismatch() {
+
+        // given - precondition or setup
+        final Long id = 1L;
+        final ArticleEntity articleEntity = testArticleEntity();
+        articleEntity.setVersion(3L);
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findById(id)).thenReturn(Optional.of(articleEntity));
+
+        // then - verify the result or output using assert statements
+        assertThrows(ArticleVersionMismatchException.class,
+                () -> underTest.patchArticle(id, new ArticlePatch(Optional.of("New title"), null, null), 2L));
+        assertEquals("Title Article", articleEntity.getTitle());
+        verify(articleRepository, never()).flush();
     }
 
     @Test
@@ -133,12 +571,14 @@ public class ArticleServiceImplTest {
         final ArticleUpdateRequest updatedArticle = testArticleUpdateDTO();
 
         // when - action or behaviour that we are going test
-        when(articleRepository.save(any(ArticleEntity.class))).thenReturn(null);
+        when(articleRepository.updateContent(eq(articleId), any(), any(), any())).thenReturn(0);
 
         // then - verify the result or output using assert statements
-        assertThrows(NullPointerException.class, () -> {
-            underTest.updateArticle(articleId, updatedArticle);
+        assertThrows(ArticleNotFoundException.class, () -> {
+            underTest.updateArticle(articleId, updatedArticle, null);
         });
+        verify(articleRepository, never()).findById(any());
+        verify(articleRepository, never()).existsById(any());
     }
 
     @Test
@@ -148,22 +588,147 @@ public class ArticleServiceImplTest {
         final Long id = 1L;
 
         // when - action or behaviour that we are going test
-        underTest.deleteArticle(id);
+        when(articleRepository.deleteAllByIdIn(List.of(id))).thenReturn(1);
+
+        underTest.deleteArticle(id, null);
 
         // then - verify the result or output using assert statements
-        verify(articleRepository, times(1)).deleteById(eq(id));
+        verify(articleRepository, never()).findById(any());
+        verify(articleRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(new ArticleDeletedEvent(id));
     }
 
     @Test
-    void test_Delete_Article_ThrowsEmptyResultDataAccessException() {
+    void test_Delete_Missing_Article_Does_Nothing() {
 
         final Long articleId = 1L;
 
-        doThrow(new EmptyResultDataAccessException(1)).when(articleRepository).deleteById(articleId);
+        when(articleRepository.deleteAllByIdIn(List.of(articleId))).thenReturn(0);
 
-        underTest.deleteArticle(articleId);
+        underTest.deleteArticle(articleId, null);
 
-        verify(articleRepository, times(1)).deleteById(articleId);
+        verify(articleRepository, never()).existsById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void test_Delete_With_Matching_Version_Checks_It_In_The_Delete_Statement() {
+
+        // given - precondition or setup
+        final Long id = 1L;
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.deleteByIdAndVersion(id, 4L)).thenReturn(1);
+
+        underTest.deleteArticle(id, 4L);
+
+        // then - verify the result or output using assert statements
+        verify(articleRepository, never()).deleteAllByIdIn(any());
+        verify(eventPublisher).publishEvent(new ArticleDeletedEvent(id));
+    }
+
+    @Test
+    void test_Delete_With_Stale_Version_Throws_And_Keeps_The_Article() {
+
+        // given - precondition or setup
+        final Long id = 1L;
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.deleteByIdAndVersion(id, 4L)).thenReturn(0);
+        when(articleRepository.existsById(id)).thenReturn(true);
+
+        // then - verify the result or output using assert statements
+        assertThrows(ArticleVersionMismatchException.class, () -> underTest.deleteArticle(id, 4L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void test_Delete_With_Version_Of_Missing_Article_Throws_Not_Found() {
+
+        // given - precondition or setup
+        final Long id = 1L;
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.deleteByIdAndVersion(id, 4L)).thenReturn(0);
+        when(articleRepository.existsById(id)).thenReturn(false);
+
+        // then - verify the result or output using assert statements
+        assertThrows(ArticleNotFoundException.class, () -> underTest.deleteArticle(id, 4L));
+    }
+
+    @Test
+    void test_Bulk_Delete_By_Ids_Runs_One_Statement_Per_Chunk() {
+
+        // given - precondition or setup
+        final List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= ArticleServiceImpl.DELETE_CHUNK_SIZE + 2; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        ids.add(null);
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.deleteAllByIdIn(any())).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).size() - 1);
+
+        final int deleted = underTest.deleteArticles(ids);
+
+        // then - verify the result or output using assert statements
+        assertEquals(ArticleServiceImpl.DELETE_CHUNK_SIZE, deleted);
+        verify(articleRepository).deleteAllByIdIn(ids.subList(0, ArticleServiceImpl.DELETE_CHUNK_SIZE));
+        verify(articleRepository).deleteAllByIdIn(List.of(1001L, 1002L));
+        verify(eventPublisher, times(ArticleServiceImpl.DELETE_CHUNK_SIZE + 2))
+                .publishEvent(any(ArticleDeletedEvent.class));
+    }
+
+    @Test
+    void test_Bulk_Delete_By_Date_Range_Repeats_Until_No_Ids_Are_Left() {
+
+        // given - precondition or setup
+        final LocalDate from = LocalDate.of(2024, 1, 1);
+        final LocalDate to = LocalDate.of(2024, 1, 31);
+        final List<Long> fullChunk = new ArrayList<>();
+        for (long id = 1; id <= ArticleServiceImpl.DELETE_CHUNK_SIZE; id++) {
+            fullChunk.add(id);
+        }
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findIdsPublishedBetween(from, to, PageRequest.of(0, ArticleServiceImpl.DELETE_CHUNK_SIZE)))
+                .thenReturn(fullChunk, List.of(5000L), List.of());
+        when(articleRepository.deleteAllByIdIn(fullChunk)).thenReturn(fullChunk.size());
+        when(articleRepository.deleteAllByIdIn(List.of(5000L))).thenReturn(1);
+
+        final int deleted = underTest.deleteArticlesPublishedBetween(from, to);
+
+        // then - verify the result or output using assert statements
+        assertEquals(ArticleServiceImpl.DELETE_CHUNK_SIZE + 1, deleted);
+        verify(articleRepository, times(3)).findIdsPublishedBetween(any(), any(), any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void test_Bulk_Delete_By_Date_Range_Continues_After_Rows_Deleted_Concurrently() {
+
+        // given - precondition or setup
+        final LocalDate from = LocalDate.of(2024, 1, 1);
+        final LocalDate to = LocalDate.of(2024, 1, 31);
+        final List<Long> fullChunk = new ArrayList<>();
+        for (long id = 1; id <= ArticleServiceImpl.DELETE_CHUNK_SIZE; id++) {
+            fullChunk.add(id);
+        }
+
+        // when - action or behaviour that we are going test
+        when(articleRepository.findIdsPublishedBetween(from, to, PageRequest.of(0, ArticleServiceImpl.DELETE_CHUNK_SIZE)))
+                .thenReturn(fullChunk, List.of(5000L), List.of());
+        // another request deleted two of the selected articles first
+        when(articleRepository.deleteAllByIdIn(fullChunk)).thenReturn(fullChunk.size() - 2);
+        when(articleRepository.deleteAllByIdIn(List.of(5000L))).thenReturn(1);
+
+        final int deleted = underTest.deleteArticlesPublishedBetween(from, to);
+
+        // then - verify the result or output using assert statements
+        assertEquals(ArticleServiceImpl.DELETE_CHUNK_SIZE - 1, deleted);
+        verify(articleRepository).deleteAllByIdIn(List.of(5000L));
     }
 
     @Test
@@ -199,4 +764,73 @@ public class ArticleServiceImplTest {
         // then
         assertEquals(1, result.size());
     }
+
+    @Test
+    void test_Search_Returns_Articles_In_Rank_Order() {
+
+        // given
+        final ArticleEntity first = testArticleEntity();
+        final ArticleEntity second = testArticleEntity();
+        second.setId(2L);
+
+        // when
+        when(searchIndex.search("java", 20)).thenReturn(List.of(new SearchHit(2L, 3.0), new SearchHit(1L, 1.0)));
+        when(articleRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+
+        final List<ArticleResponse> result = underTest.searchArticles("java", 20);
+
+        // then
+        assertEquals(List.of(2L, 1L), result.stream().map(ArticleResponse::id).toList());
+    }
+
+    @Test
+    void test_Summaries_Attach_Tags_And_Bound_Excerpt_Length() {
+
+        // given
+        final ArticleSummary first = new ArticleSummary(1L, "First", LocalDate.now(), "Cont");
+        final ArticleSummary second = new ArticleSummary(2L, "Second", LocalDate.now(), "Text");
+
+        // when
+        when(articleRepository.findAllSummaries(ArticleServiceImpl.MAX_EXCERPT_LENGTH))
+                .thenReturn(List.of(first, second));
+        when(articleRepository.findTagsByArticleIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new ArticleTag(1L, 1L, "java"), new ArticleTag(1L, 2L, "spring")));
+
+        final List<ArticleSummary> result = underTest.getArticleSummaries(Integer.MAX_VALUE);
+
+        // then
+        assertEquals(List.of("java", "spring"), result.get(0).tags().stream().map(TagEntity::getName).toList());
+        assertTrue(result.get(1).tags().isEmpty());
+        assertEquals("Cont", result.get(0).excerpt());
+    }
+
+    @Test
+    void test_Summaries_Without_Matches_Skip_Tag_Lookup() {
+
+        // when
+        when(articleRepository.findAllSummariesByTagsName("java", 0)).thenReturn(List.of());
+
+        final List<ArticleSummary> result = underTest.getArticleSummariesByTagName("java", -5);
+
+        // then
+        assertTrue(result.isEmpty());
+        verify(articleRepository, never()).findTagsByArticleIdIn(any());
+    }
+
+    private static ArticleEntity tagged(Long id, LocalDate publishDate) {
+
+        final ArticleEntity article = testArticleEntity();
+        article.setId(id);
+        article.setPublishDate(publishDate);
+        return article;
+    }
+
+    private static Roaring64Bitmap keys(ArticleEntity... articles) {
+
+        final Roaring64Bitmap keys = new Roaring64Bitmap();
+        for (ArticleEntity article : articles) {
+            keys.addLong(ArticleTagIndex.sortKey(article.getPublishDate(), article.getId()));
+        }
+        return keys;
+    }
 }
@@ -0,0 +1,64 @@
+package blog.article.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArticleViewCounterTest {
+
+    private final ArticleViewCounter underTest = new ArticleViewCounter();
+
+    @Test
+    void test_Concurrent_Views_Are_All_Counted() throws Exception {
+
+        // given
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        for (int reader = 0; reader < 8; reader++) {
+            readers.submit(() -> {
+                for (int view = 0; view < 10_000; view++) {
+                    underTest.increment(view % 2 == 0 ? 1L : 2L);
+                }
+            });
+        }
+        readers.shutdown();
+        assertThat(readers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // when / then
+        assertThat(underTest.drain()).containsExactly(new ArticleViewCount(1L, 40_000), new ArticleViewCount(2L, 40_000));
+    }
+
+    @Test
+    void test_Drain_Resets_The_Counters() {
+
+        // given
+        underTest.increment(2L);
+        underTest.increment(1L);
+        underTest.add(2L, 5);
+
+        // when
+        underTest.drain();
+        underTest.increment(1L);
+
+        // then
+        assertThat(underTest.drain()).containsExactly(new ArticleViewCount(1L, 1));
+        assertThat(underTest.drain()).isEmpty();
+    }
+
+    @Test
+    void test_Removed_Article_Is_Not_Flushed() {
+
+        // given
+        underTest.increment(1L);
+        underTest.increment(2L);
+
+        // when
+        underTest.remove(1L);
+
+        // then
+        assertThat(underTest.drain()).containsExactly(new ArticleViewCount(2L, 1));
+    }
+}
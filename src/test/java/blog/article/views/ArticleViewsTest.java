@@ -0,0 +1,72 @@
+package blog.article.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArticleViewsTest {
+
+    private final ArticleViews underTest = new ArticleViews();
+
+    @Test
+    void test_Most_Viewed_Ranks_By_Merged_Totals() {
+
+        // given
+        underTest.add(List.of(new ArticleViewCount(1L, 10), new ArticleViewCount(2L, 5), new ArticleViewCount(3L, 1)));
+
+        // when
+        underTest.add(List.of(new ArticleViewCount(2L, 10), new ArticleViewCount(3L, 9)));
+
+        // then
+        assertThat(underTest.mostViewed(2)).containsExactly(new ArticleViewCount(2L, 15), new ArticleViewCount(3L, 10));
+        assertThat(underTest.mostViewed(10)).extracting(ArticleViewCount::articleId).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void test_Removed_Article_Leaves_The_Ranking() {
+
+        // given
+        underTest.add(List.of(new ArticleViewCount(1L, 10), new ArticleViewCount(2L, 5)));
+        underTest.mostViewed(10);
+
+        // when
+        underTest.remove(1L);
+
+        // then
+        assertThat(underTest.mostViewed(10)).containsExactly(new ArticleViewCount(2L, 5));
+    }
+
+    @Test
+    void test_Delta_Drained_Before_Removal_Is_Not_Added_Back() {
+
+        // given
+        underTest.add(List.of(new ArticleViewCount(1L, 10), new ArticleViewCount(2L, 5)));
+        underTest.expireRemoved();
+
+        // when
+        underTest.remove(1L);
+        underTest.add(List.of(new ArticleViewCount(1L, 3), new ArticleViewCount(2L, 1)));
+        underTest.expireRemoved();
+        underTest.add(List.of(new ArticleViewCount(1L, 1)));
+
+        // then
+        assertThat(underTest.mostViewed(10)).containsExactly(new ArticleViewCount(2L, 6));
+    }
+
+    @Test
+    void test_Removals_Expire_After_Two_Flushes() {
+
+        // given
+        underTest.remove(1L);
+        underTest.expireRemoved();
+        underTest.expireRemoved();
+
+        // when
+        underTest.add(List.of(new ArticleViewCount(1L, 4)));
+
+        // then
+        assertThat(underTest.mostViewed(10)).containsExactly(new ArticleViewCount(1L, 4));
+    }
+}
@@ -0,0 +1,113 @@
+package blog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaDataSourceTest {
+
+    private final DriverManagerDataSource primary = new DriverManagerDataSource(url("primary"), "sa", "");
+
+    private final List<ReplicaDataSource> dataSources = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        dataSources.forEach(ReplicaDataSource::close);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void test_Round_Robin_Takes_Turns() throws SQLException {
+
+        ReplicaDataSource underTest = replicas(ReplicaProperties.Selection.ROUND_ROBIN, "replica_a", "replica_b");
+
+        assertThat(List.of(database(underTest), database(underTest), database(underTest), database(underTest)))
+                .containsExactly("replica_a", "replica_b", "replica_a", "replica_b");
+    }
+
+    @Test
+    void test_Least_Connections_Picks_The_Idle_Replica() throws SQLException {
+
+        ReplicaDataSource underTest = replicas(ReplicaProperties.Selection.LEAST_CONNECTIONS, "replica_c", "replica_d");
+
+        try (Connection held = underTest.getConnection()) {
+            String busy = held.getCatalog();
+            String idle = busy.equals("replica_c") ? "replica_d" : "replica_c";
+
+            assertThat(List.of(database(underTest), database(underTest), database(underTest)))
+                    .containsOnly(idle);
+        }
+    }
+
+    @Test
+    void test_Unreachable_Replica_Falls_Back_To_The_Next_And_Then_The_Primary() throws SQLException {
+
+        ReplicaDataSource underTest = replicas(ReplicaProperties.Selection.ROUND_ROBIN, "missing;IFEXISTS=TRUE",
+                "replica_e");
+
+        assertThat(List.of(database(underTest), database(underTest))).containsOnly("replica_e");
+
+        ReplicaDataSource onlyMissing = replicas(ReplicaProperties.Selection.ROUND_ROBIN, "missing;IFEXISTS=TRUE");
+        assertThat(database(onlyMissing)).isEqualTo("primary");
+    }
+
+    @Test
+    void test_Pinned_Request_Reads_From_The_Primary() throws SQLException {
+
+        ReplicaDataSource underTest = replicas(ReplicaProperties.Selection.ROUND_ROBIN, "replica_f");
+
+        ReadYourWrites.pinToPrimary();
+
+        assertThat(database(underTest)).isEqualTo("primary");
+    }
+
+    @Test
+    void test_Exhausted_Replica_Is_Skipped_But_Stays_Up() throws SQLException {
+
+        ReplicaDataSource underTest = replicas(ReplicaProperties.Selection.ROUND_ROBIN, "replica_g");
+
+        try (Connection held = underTest.getConnection()) {
+            assertThat(held.getCatalog()).isEqualTo("replica_g");
+            assertThat(database(underTest)).isEqualTo("primary");
+        }
+
+        assertThat(database(underTest)).isEqualTo("replica_g");
+    }
+
+    private ReplicaDataSource replicas(ReplicaProperties.Selection selection, String... names) {
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String name : names) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(url(name));
+            replica.setUsername("sa");
+            replica.setPoolName(name);
+            replica.setConnectionTimeout(250);
+            replica.setMaximumPoolSize(1);
+            replicas.add(replica);
+        }
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, replicas, selection, Duration.ofMinutes(1));
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private static String database(ReplicaDataSource dataSource) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getCatalog();
+        }
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE";
+    }
+}
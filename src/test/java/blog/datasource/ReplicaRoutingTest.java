@@ -0,0 +1,136 @@
+package blog.datasource;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two separate databases. The replica never receives the primary's writes, which makes
+ * every read that was routed to it visible.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "blog.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "blog.replicas.read-your-writes=1m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;" +
+            "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;" +
+            "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    // the application reads from the replica while it starts, so its schema has to exist before
+    static {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndTheOthersToThePrimary() {
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String readFrom = readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+        String writtenTo = readWrite.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+
+        assertThat(readFrom).isEqualTo("routing_replica");
+        assertThat(writtenTo).isEqualTo("routing_primary");
+    }
+
+    @Test
+    void writerReadsItsOwnWritesFromThePrimary() throws Exception {
+
+        Cookie pinned = mockMvc.perform(post("/v1/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Replicated\", \"content\": \"Lagging\", \"tags\": [{\"name\": \"lag\"}]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(pinned).isNotNull();
+
+        mockMvc.perform(get("/v1/articles/tags/{tagName}", "lag").cookie(pinned))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList[0].title").value("Replicated"));
+
+        mockMvc.perform(get("/v1/articles/tags/{tagName}", "lag"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded").doesNotExist());
+    }
+
+    @Test
+    void writerWithoutCookiesReadsItsOwnWritesThroughTheHeader() throws Exception {
+
+        String until = mockMvc.perform(post("/v1/articles")
+                        .header(HttpHeaders.ORIGIN, "https://elsewhere.example")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Echoed\", \"content\": \"Lagging\", \"tags\": [{\"name\": \"echo\"}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+                        containsString(ReadYourWritesFilter.HEADER)))
+                .andReturn().getResponse().getHeader(ReadYourWritesFilter.HEADER);
+        assertThat(until).isNotNull();
+
+        mockMvc.perform(get("/v1/articles/tags/{tagName}", "echo").header(ReadYourWritesFilter.HEADER, until))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.articleResponseList[0].title").value("Echoed"));
+
+        // a deadline far beyond the window does not pin the client
+        String farAway = String.valueOf(System.currentTimeMillis() + Duration.ofDays(1).toMillis());
+        mockMvc.perform(get("/v1/articles/tags/{tagName}", "echo").header(ReadYourWritesFilter.HEADER, farAway))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded").doesNotExist());
+    }
+
+    @Test
+    void cachedArticlesAreLoadedFromThePrimary() throws Exception {
+
+        Number id = JsonPath.read(mockMvc.perform(post("/v1/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Cached\", \"content\": \"Lagging\", \"tags\": []}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+
+        // no cookie or header, so only the primary has the article
+        mockMvc.perform(get("/v1/articles/{id}", id.longValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Cached"));
+    }
+}
@@ -0,0 +1,76 @@
+package blog.sql;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class SqlMonitorTest {
+
+    private SqlMonitor monitor;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        monitor = new SqlMonitor(new SqlMonitorProperties(Duration.ofSeconds(10), 0, 3));
+        SingleConnectionDataSource h2 = new SingleConnectionDataSource("jdbc:h2:mem:sqlmonitor", true);
+        jdbcTemplate = new JdbcTemplate(new MonitoredDataSource(h2, monitor));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS notes (id BIGINT PRIMARY KEY, body VARCHAR(255))");
+        jdbcTemplate.execute("DELETE FROM notes");
+        monitor.reset();
+    }
+
+    @Test
+    void test_Records_Rows_And_Parameter_Types_Per_Statement() {
+
+        // when
+        jdbcTemplate.batchUpdate("INSERT INTO notes (id, body) VALUES (?, ?)",
+                List.of(new Object[]{1L, "first"}, new Object[]{2L, "second"}, new Object[]{3L, null}));
+        List<String> bodies = jdbcTemplate.queryForList("SELECT body FROM notes WHERE id <= ?", String.class, 2L);
+
+        // then
+        assertThat(bodies).hasSize(2);
+        assertThat(monitor.slowest(10))
+                .extracting(SqlQueryStats::sql, SqlQueryStats::executions, SqlQueryStats::rows,
+                        SqlQueryStats::parameters)
+                .containsExactlyInAnyOrder(
+                        tuple("INSERT INTO notes (id, body) VALUES (?, ?)", 1L, 3L,
+                                "[Long, null]"),
+                        tuple("SELECT body FROM notes WHERE id <= ?", 1L, 2L, "[Long]"));
+    }
+
+    @Test
+    void test_Statements_Differing_Only_In_Literals_Share_One_Entry() {
+
+        // when
+        jdbcTemplate.queryForList("SELECT id FROM notes WHERE body = 'a' AND id IN (1, 2, 3)");
+        jdbcTemplate.queryForList("SELECT id FROM notes WHERE body = 'it''s'   AND id IN (4, 5)");
+
+        // then
+        List<SqlQueryStats> slowest = monitor.slowest(10);
+        assertThat(slowest).hasSize(1);
+        assertThat(slowest.get(0).sql()).isEqualTo("SELECT id FROM notes WHERE body = ? AND id IN (?...)");
+        assertThat(slowest.get(0).executions()).isEqualTo(2);
+    }
+
+    @Test
+    void test_Table_Is_Bounded() {
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.queryForList("SELECT id AS c" + i + " FROM notes");
+        }
+
+        // then
+        assertThat(monitor.slowest(10)).hasSize(3);
+        assertThat(monitor.slowest(2)).hasSize(2);
+    }
+}
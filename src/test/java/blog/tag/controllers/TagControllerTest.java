@@ -0,0 +1,81 @@
+package blog.tag.controllers;
+
+import blog.tag.domain.TagCount;
+import blog.tag.domain.TagSort;
+import blog.tag.services.TagCloud;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TagController.class)
+public class TagControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TagCloud tagCloud;
+
+    private final List<TagCount> tags = List.of(
+            new TagCount(1L, "java", 3),
+            new TagCount(3L, "jpa", 1),
+            new TagCount(2L, "spring", 1));
+
+    // JUnit test for GET tags REST API
+    @Test
+    void givenTags_whenGetTags_thenReturnMostUsedFirst() throws Exception {
+
+        // given - precondition or setup
+        given(tagCloud.tags(TagSort.POPULARITY)).willReturn(tags);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/tags"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[0].name", is("java")))
+                .andExpect(jsonPath("$[0].articles", is(3)));
+    }
+
+    // JUnit test for GET tags REST API - sorted by name and limited
+    @Test
+    void givenSortAndLimit_whenGetTags_thenReturnFirstTagsOfThatOrder() throws Exception {
+
+        // given - precondition or setup
+        given(tagCloud.tags(TagSort.NAME)).willReturn(tags);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/tags").param("sort", "NAME").param("limit", "2"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[1].name", is("jpa")));
+    }
+
+    // negative scenario - unknown sort order
+    @Test
+    void givenUnknownSort_whenGetTags_thenReturn400() throws Exception {
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/v1/tags").param("sort", "random"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+}
@@ -0,0 +1,87 @@
+package blog.tag.services;
+
+import blog.tag.domain.TagCount;
+import blog.tag.domain.TagEntity;
+import blog.tag.domain.TagSort;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagCloudTest {
+
+    private static final TagEntity JAVA = new TagEntity(1L, "java");
+    private static final TagEntity SPRING = new TagEntity(2L, "spring");
+    private static final TagEntity JPA = new TagEntity(3L, "jpa");
+
+    private final TagCloud underTest = new TagCloud();
+
+    @Test
+    void test_Tags_Are_Sorted_By_Popularity_Then_Name() {
+
+        // given
+        underTest.put(1L, List.of(JAVA, SPRING));
+        underTest.put(2L, List.of(JAVA, JPA));
+        underTest.put(3L, List.of(JAVA));
+
+        // when / then
+        assertThat(underTest.tags(TagSort.POPULARITY)).containsExactly(
+                new TagCount(1L, "java", 3),
+                new TagCount(3L, "jpa", 1),
+                new TagCount(2L, "spring", 1));
+        assertThat(underTest.tags(TagSort.NAME)).extracting(TagCount::name)
+                .containsExactly("java", "jpa", "spring");
+    }
+
+    @Test
+    void test_Saving_Again_Moves_Counts_To_The_New_Tags() {
+
+        // given
+        underTest.put(1L, List.of(JAVA, SPRING));
+        underTest.put(2L, List.of(SPRING));
+        List<TagCount> before = underTest.tags(TagSort.POPULARITY);
+
+        // when
+        underTest.put(1L, List.of(JPA, JAVA));
+
+        // then
+        assertThat(before).containsExactly(new TagCount(2L, "spring", 2), new TagCount(1L, "java", 1));
+        assertThat(underTest.tags(TagSort.POPULARITY)).containsExactly(
+                new TagCount(1L, "java", 1),
+                new TagCount(3L, "jpa", 1),
+                new TagCount(2L, "spring", 1));
+    }
+
+    @Test
+    void test_Removing_The_Last_Article_Drops_The_Tag() {
+
+        // given
+        underTest.put(1L, List.of(JAVA, SPRING));
+        underTest.put(2L, List.of(JAVA));
+
+        // when
+        underTest.remove(1L);
+        underTest.remove(1L);
+        underTest.put(3L, List.of());
+
+        // then
+        assertThat(underTest.tags(TagSort.NAME)).containsExactly(new TagCount(1L, "java", 1));
+    }
+
+    @Test
+    void test_Sorted_View_Is_Reused_Until_Next_Change() {
+
+        // given
+        underTest.put(1L, List.of(JAVA));
+
+        // when
+        List<TagCount> first = underTest.tags(TagSort.POPULARITY);
+        underTest.put(1L, List.of(JAVA));
+
+        // then
+        assertThat(underTest.tags(TagSort.POPULARITY)).isSameAs(first);
+        underTest.put(2L, List.of(SPRING));
+        assertThat(underTest.tags(TagSort.POPULARITY)).isNotSameAs(first).hasSize(2);
+    }
+}
@@ -0,0 +1,55 @@
+package blog.tag.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With a single pooled connection, any write that needs a second one times out.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + TagDictionaryConnectionTest.URL,
+        // migrating needs connections of its own
+        "spring.flyway.url=" + TagDictionaryConnectionTest.URL,
+        "spring.flyway.user=sa",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=250"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class TagDictionaryConnectionTest {
+
+    static final String URL = "jdbc:h2:mem:single_connection;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;" +
+            "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void test_Saving_With_New_Tags_Needs_One_Connection() throws Exception {
+
+        mockMvc.perform(post("/v1/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Pooled\", \"content\": \"One connection\", " +
+                                "\"tags\": [{\"name\": \"pool\"}, {\"name\": \"hikari\"}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tags[*].name").value(containsInAnyOrder("pool", "hikari")));
+
+        mockMvc.perform(post("/v1/articles/bulk")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\": \"First\", \"content\": \"a\", \"tags\": [{\"name\": \"pool\"}, {\"name\": \"batch\"}]}\n" +
+                                "{\"title\": \"Second\", \"content\": \"b\", \"tags\": [{\"name\": \"batch\"}]}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*].error").isEmpty());
+    }
+}
@@ -0,0 +1,165 @@
+package blog.tag.services;
+
+import blog.tag.domain.TagEntity;
+import blog.tag.repositories.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TagDictionaryTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    private TagDictionary underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TagDictionary(tagRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void test_Resolve_Reuses_Existing_Tags_And_Creates_Missing_Ones() {
+
+        // given
+        when(tagRepository.findAllByNameIn(List.of("java", "spring"))).thenReturn(List.of(new TagEntity(7L, "java")));
+        when(tagRepository.insertIfAbsent("spring")).thenReturn(1);
+        when(tagRepository.findAllByNameIn(List.of("spring"))).thenReturn(List.of(new TagEntity(8L, "spring")));
+
+        // when
+        List<TagEntity> tags = underTest.resolve(List.of(new TagEntity(null, "java"), new TagEntity(99L, " spring ")));
+
+        // then
+        assertThat(tags).extracting(TagEntity::getId).containsExactly(7L, 8L);
+        assertThat(tags).extracting(TagEntity::getName).containsExactly("java", "spring");
+        verify(tagRepository, never()).insertIfAbsent("java");
+    }
+
+    @Test
+    void test_Resolve_Serves_Known_Names_From_Cache() {
+
+        // given
+        when(tagRepository.findAllByNameIn(List.of("java"))).thenReturn(List.of(new TagEntity(7L, "java")));
+        underTest.resolve(List.of(new TagEntity(null, "java")));
+
+        // when
+        List<TagEntity> tags = underTest.resolve(List.of(new TagEntity(null, "java"), new TagEntity(null, "java")));
+
+        // then
+        assertThat(tags).extracting(TagEntity::getId).containsExactly(7L);
+        verify(tagRepository, times(1)).findAllByNameIn(anyCollection());
+    }
+
+    @Test
+    void test_Resolve_Rereads_Tag_Created_Concurrently() {
+
+        // given
+        when(tagRepository.findAllByNameIn(List.of("java")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new TagEntity(7L, "java")));
+        when(tagRepository.insertIfAbsent("java")).thenReturn(0);
+
+        // when
+        List<TagEntity> tags = underTest.resolve(List.of(new TagEntity(null, "java")));
+
+        // then
+        assertThat(tags).extracting(TagEntity::getId).containsExactly(7L);
+    }
+
+    @Test
+    void test_Resolve_Inserts_Missing_Tags_In_Name_Order() {
+
+        // given
+        when(tagRepository.insertIfAbsent(anyString())).thenReturn(1);
+        when(tagRepository.findAllByNameIn(List.of("spring", "java")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new TagEntity(8L, "spring"), new TagEntity(7L, "java")));
+
+        // when
+        List<TagEntity> tags = underTest.resolve(List.of(new TagEntity(null, "spring"), new TagEntity(null, "java")));
+
+        // then
+        assertThat(tags).extracting(TagEntity::getId).containsExactly(8L, 7L);
+        InOrder inserts = inOrder(tagRepository);
+        inserts.verify(tagRepository).insertIfAbsent("java");
+        inserts.verify(tagRepository).insertIfAbsent("spring");
+    }
+
+    @Test
+    void test_Resolve_Caches_Created_Tags_Only_After_Commit() {
+
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        when(tagRepository.findAllByNameIn(List.of("java")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new TagEntity(7L, "java")));
+        when(tagRepository.insertIfAbsent("java")).thenReturn(1);
+        underTest.resolve(List.of(new TagEntity(null, "java")));
+
+        // when
+        List<TagEntity> sameTransaction = underTest.resolve(List.of(new TagEntity(null, "java")));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        List<TagEntity> afterCommit = underTest.resolve(List.of(new TagEntity(null, "java")));
+
+        // then
+        assertThat(sameTransaction).extracting(TagEntity::getId).containsExactly(7L);
+        assertThat(afterCommit).extracting(TagEntity::getId).containsExactly(7L);
+        verify(tagRepository, times(1)).insertIfAbsent("java");
+        verify(tagRepository, times(2)).findAllByNameIn(anyCollection());
+    }
+
+    @Test
+    void test_Resolve_Forgets_Created_Tags_After_Rollback() {
+
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        when(tagRepository.findAllByNameIn(List.of("java")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new TagEntity(7L, "java")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new TagEntity(57L, "java")));
+        when(tagRepository.insertIfAbsent("java")).thenReturn(1);
+        underTest.resolve(List.of(new TagEntity(null, "java")));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // when
+        List<TagEntity> tags = underTest.resolve(List.of(new TagEntity(null, "java")));
+
+        // then
+        assertThat(tags).extracting(TagEntity::getId).containsExactly(57L);
+        verify(tagRepository, times(2)).insertIfAbsent("java");
+    }
+
+    private static void complete(int status) {
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}